@@ -5,70 +5,93 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.MultithreadEventLoopGroup;
 import io.netty.channel.SimpleChannelInboundHandler;
-import io.netty.channel.epoll.Epoll;
-import io.netty.channel.epoll.EpollEventLoopGroup;
-import io.netty.channel.epoll.EpollSocketChannel;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
+import net.cryptic_game.microservice.cache.ResponseCache;
+import net.cryptic_game.microservice.codec.Framing;
+import net.cryptic_game.microservice.codec.FramingNegotiationHandler;
+import net.cryptic_game.microservice.codec.InboundMessage;
+import net.cryptic_game.microservice.communication.Deadline;
+import net.cryptic_game.microservice.communication.DeadlineExceededException;
+import net.cryptic_game.microservice.communication.ResponseCorrelator;
 import net.cryptic_game.microservice.config.Config;
 import net.cryptic_game.microservice.config.DefaultConfig;
+import net.cryptic_game.microservice.dispatch.Bulkhead;
+import net.cryptic_game.microservice.dispatch.Dispatcher;
+import net.cryptic_game.microservice.dispatch.SingleFlight;
+import net.cryptic_game.microservice.endpoint.Cached;
+import net.cryptic_game.microservice.endpoint.Coalesced;
+import net.cryptic_game.microservice.endpoint.Endpoint;
+import net.cryptic_game.microservice.endpoint.EndpointInvoker;
+import net.cryptic_game.microservice.endpoint.EndpointRegistry;
+import net.cryptic_game.microservice.endpoint.EndpointRouter;
 import net.cryptic_game.microservice.endpoint.MicroServiceEndpoint;
+import net.cryptic_game.microservice.endpoint.ParameterBinder;
 import net.cryptic_game.microservice.endpoint.UserEndpoint;
+import net.cryptic_game.microservice.metrics.Metrics;
+import net.cryptic_game.microservice.metrics.MetricsReporter;
+import net.cryptic_game.microservice.socket.MsSocketClient;
+import net.cryptic_game.microservice.socket.PushPolicy;
+import net.cryptic_game.microservice.socket.SocketOptions;
+import net.cryptic_game.microservice.socket.Transport;
 import net.cryptic_game.microservice.sql.SqlService;
 import net.cryptic_game.microservice.utils.JSON;
 import net.cryptic_game.microservice.utils.JSONBuilder;
-import net.cryptic_game.microservice.utils.Tuple;
 import net.cryptic_game.microservice.wrapper.User;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.LoggerConfig;
-import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
-import org.reflections.Reflections;
-import org.reflections.ReflectionsException;
-import org.reflections.scanners.MethodAnnotationsScanner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.persistence.Entity;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 
 import static net.cryptic_game.microservice.error.ServerError.INTERNAL_ERROR;
 import static net.cryptic_game.microservice.error.ServerError.MISSING_PARAMETERS;
+import static net.cryptic_game.microservice.error.ServerError.OVERLOADED;
 import static net.cryptic_game.microservice.error.ServerError.UNKNOWN_SERVICE;
-import static net.cryptic_game.microservice.error.ServerError.UNSUPPORTED_FORMAT;
-import static net.cryptic_game.microservice.utils.JSONUtils.checkData;
 import static net.cryptic_game.microservice.utils.SocketUtils.send;
 import static net.cryptic_game.microservice.utils.SocketUtils.sendError;
 
 @ChannelHandler.Sharable
-public abstract class MicroService extends SimpleChannelInboundHandler<String> {
+public abstract class MicroService extends SimpleChannelInboundHandler<InboundMessage> {
 
-    private static final boolean E_POLL = Epoll.isAvailable();
+    private static final Transport TRANSPORT = Transport.select(
+            Transport.valueOf(Config.get(DefaultConfig.SOCKET_TRANSPORT).toUpperCase()));
     private static final Logger LOG = LoggerFactory.getLogger(MicroService.class);
-    private static final EventLoopGroup EVENT_LOOP_GROUP = E_POLL ? new EpollEventLoopGroup() : new NioEventLoopGroup();
+    private static final EventLoopGroup EVENT_LOOP_GROUP = TRANSPORT.newEventLoopGroup(
+            Config.getInteger(DefaultConfig.SOCKET_EVENT_LOOP_THREADS));
+
+    private static final String USER_LANE = "user";
+    private static final String MS_LANE = "ms";
 
     private static MicroService instance;
 
-    private final Map<UUID, JSONObject> waitingForResponse = new HashMap<>();
+    private final ResponseCorrelator responses = new ResponseCorrelator(Config.getInteger(DefaultConfig.RESPONSE_TIMEOUT));
+
+    private final EndpointRouter<Endpoint<UUID>> userEndpoints = new EndpointRouter<>();
+    private final EndpointRouter<Endpoint<String>> microServiceEndpoints = new EndpointRouter<>();
+    private final LongAdder unknownEndpoints = Metrics.counter("endpoint.unknown");
 
-    private final Map<List<String>, Tuple<UserEndpoint, Method>> userEndpoints = new HashMap<>();
-    private final Map<List<String>, Tuple<MicroServiceEndpoint, Method>> microServiceEndpoints = new HashMap<>();
+    private final Map<String, Dispatcher> lanes = new HashMap<>();
 
     private final String name;
-    private Channel channel;
+    private MsSocketClient client;
 
     public MicroService(String name) {
         setLoglevel(Level.getLevel(Config.get(DefaultConfig.LOG_LEVEL)));
@@ -76,11 +99,18 @@ public abstract class MicroService extends SimpleChannelInboundHandler<String> {
 
         instance = this;
 
+        final EndpointRegistry registry = EndpointRegistry.load();
+
         final SqlService instance = SqlService.getInstance();
-        new Reflections("net.cryptic_game.microservice").getTypesAnnotatedWith(Entity.class).forEach(instance::addEntity);
+        registry.getEntities().forEach(instance::addEntity);
         instance.start();
 
-        init();
+        final int metricsInterval = Config.getInteger(DefaultConfig.METRICS_INTERVAL);
+        if (metricsInterval > 0) {
+            EVENT_LOOP_GROUP.scheduleAtFixedRate(new MetricsReporter(), metricsInterval, metricsInterval, TimeUnit.SECONDS);
+        }
+
+        init(registry);
         start();
     }
 
@@ -95,205 +125,373 @@ public abstract class MicroService extends SimpleChannelInboundHandler<String> {
         return instance;
     }
 
-    private void init() {
-        try {
-            Reflections reflections = new Reflections("net.cryptic_game.microservice", new MethodAnnotationsScanner());
-
-            {
-                Set<Method> methods = reflections.getMethodsAnnotatedWith(UserEndpoint.class);
-                for (Method method : methods) {
-                    UserEndpoint methodEndpoint = method.getAnnotation(UserEndpoint.class);
-
-                    userEndpoints.put(Arrays.asList(methodEndpoint.path()),
-                            new Tuple<>(methodEndpoint, method));
-                }
-            }
-            {
-                Set<Method> methods = reflections.getMethodsAnnotatedWith(MicroServiceEndpoint.class);
-                for (Method method : methods) {
-                    MicroServiceEndpoint methodEndpoint = method.getAnnotation(MicroServiceEndpoint.class);
-
-                    microServiceEndpoints.put(Arrays.asList(methodEndpoint.path()),
-                            new Tuple<>(methodEndpoint, method));
-                }
-            }
-        } catch (ReflectionsException ignored) {
+    private void init(EndpointRegistry registry) {
+        lanes.put(USER_LANE, Dispatcher.fromConfig(USER_LANE));
+        lanes.put(MS_LANE, Dispatcher.fromConfig(MS_LANE));
+
+        for (Method method : registry.getUserEndpoints()) {
+            UserEndpoint methodEndpoint = method.getAnnotation(UserEndpoint.class);
+
+            Endpoint<UUID> endpoint = new Endpoint<>(lane(methodEndpoint.lane(), USER_LANE),
+                    ParameterBinder.of(methodEndpoint.keys(), methodEndpoint.types()),
+                    EndpointInvoker.of(method, UUID.class),
+                    bulkhead(USER_LANE, methodEndpoint.path(), methodEndpoint.maxConcurrent(), methodEndpoint.maxQueued()),
+                    cache(USER_LANE, methodEndpoint.path(), methodEndpoint.keys(), method.getAnnotation(Cached.class)),
+                    singleFlight(USER_LANE, methodEndpoint.path(), methodEndpoint.keys(), method.getAnnotation(Coalesced.class)));
+            userEndpoints.add(methodEndpoint.path(), endpoint);
+            lanes.computeIfAbsent(endpoint.getLane(), Dispatcher::fromConfig);
+        }
+        for (Method method : registry.getMicroServiceEndpoints()) {
+            MicroServiceEndpoint methodEndpoint = method.getAnnotation(MicroServiceEndpoint.class);
+
+            Endpoint<String> endpoint = new Endpoint<>(lane(methodEndpoint.lane(), MS_LANE),
+                    ParameterBinder.of(methodEndpoint.keys(), methodEndpoint.types()),
+                    EndpointInvoker.of(method, String.class),
+                    bulkhead(MS_LANE, methodEndpoint.path(), methodEndpoint.maxConcurrent(), methodEndpoint.maxQueued()),
+                    cache(MS_LANE, methodEndpoint.path(), methodEndpoint.keys(), method.getAnnotation(Cached.class)),
+                    singleFlight(MS_LANE, methodEndpoint.path(), methodEndpoint.keys(), method.getAnnotation(Coalesced.class)));
+            microServiceEndpoints.add(methodEndpoint.path(), endpoint);
+            lanes.computeIfAbsent(endpoint.getLane(), Dispatcher::fromConfig);
         }
     }
 
     private void start() {
-        final JSONObject registration = JSONBuilder.anJSON()
-                .add("action", "register")
-                .add("name", name)
-                .build();
-        Channel channel = null;
+        final Framing framing = Framing.valueOf(Config.get(DefaultConfig.MSSOCKET_FRAMING).toUpperCase());
+        final boolean compression = framing == Framing.LENGTH && Config.getBoolean(DefaultConfig.MSSOCKET_COMPRESSION);
 
-        try {
-            channel = new Bootstrap()
-                    .group(EVENT_LOOP_GROUP)
-                    .channel(E_POLL ? EpollSocketChannel.class : NioSocketChannel.class)
-                    .handler(new MicroServiceInitializer(this))
-                    .connect(Config.get(DefaultConfig.MSSOCKET_HOST), Config.getInteger(DefaultConfig.MSSOCKET_PORT))
-                    .sync().channel();
+        final SocketOptions options = SocketOptions.fromConfig();
+        final Bootstrap bootstrap = options.apply(new Bootstrap())
+                .group(EVENT_LOOP_GROUP)
+                .channel(TRANSPORT.getSocketChannel())
+                .handler(new MicroServiceInitializer(this, framing, compression));
 
-            this.channel = channel;
+        LOG.info("Using the {} transport with {} event loops and {}.", TRANSPORT,
+                ((MultithreadEventLoopGroup) EVENT_LOOP_GROUP).executorCount(), options);
 
-            channel.writeAndFlush(registration.toString());
-            channel.closeFuture().syncUninterruptibly();
+        final JSONBuilder registration = JSONBuilder.anJSON().add("action", "register").add("name", name);
+        if (framing != Framing.JSON) {
+            registration.add("framing", framing.toString());
+        }
+        if (compression) {
+            registration.add("compression", FramingNegotiationHandler.DEFLATE);
+        }
+        MicroServiceInitializer.offer(registration);
+
+        client = new MsSocketClient(bootstrap,
+                Config.get(DefaultConfig.MSSOCKET_HOST),
+                Config.getInteger(DefaultConfig.MSSOCKET_PORT),
+                Config.getInteger(DefaultConfig.MSSOCKET_CONNECTIONS),
+                registration.build(),
+                responses,
+                Config.getInteger(DefaultConfig.MSSOCKET_RECONNECT_MIN_DELAY),
+                Config.getInteger(DefaultConfig.MSSOCKET_RECONNECT_MAX_DELAY),
+                Config.getInteger(DefaultConfig.MSSOCKET_RECONNECT_ATTEMPTS),
+                Config.getInteger(DefaultConfig.MSSOCKET_BUFFER_SIZE),
+                Config.getBoolean(DefaultConfig.SOCKET_WRITE_BACKPRESSURE),
+                PushPolicy.valueOf(Config.get(DefaultConfig.SOCKET_PUSH_POLICY).toUpperCase()));
+        client.start();
+    }
 
-        } catch (Exception e) {
-            LOG.warn(e.toString(), e);
-        } finally {
-            if (channel != null) {
-                try {
-                    channel.close().syncUninterruptibly();
-                } catch (Exception e) {
-                    LOG.warn("Unable to close channel: " + e.toString(), e);
-                }
-            }
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, InboundMessage msg) {
+        if (msg.isError()) {
+            return;
+        }
 
-            LOG.info("Reconnection in 10 seconds...");
+        UUID tag = msg.getTag();
+        JSONObject data = msg.getData();
 
-            try {
-                Thread.sleep(10000L); // 10 seconds
-            } catch (InterruptedException ignored) {
-            }
+        if (tag == null || data == null) {
+            sendError(ctx.channel(), MISSING_PARAMETERS);
+            return;
+        }
+
+        // responses are handed over right here, they must never queue behind the requests waiting for them
+        if (responses.complete(tag, data)) {
+            return;
+        }
 
-            // reconnect
-            start();
+        if (msg.getEndpoint() == null) {
+            return;
+        }
+
+        Channel channel = ctx.channel();
+        if (msg.getUser() != null) {
+            dispatch(channel, msg, userEndpoints, msg.getUser(), USER_LANE);
+        } else if (msg.getMs() != null) {
+            dispatch(channel, msg, microServiceEndpoints, msg.getMs(), MS_LANE);
         }
     }
 
-    @Override
-    protected void channelRead0(ChannelHandlerContext ctx, String msg) {
-        new Thread(() -> {
-
-            JSONObject jsonObject;
-            try {
-                jsonObject = (JSONObject) new JSONParser().parse(msg);
-            } catch (ParseException ignored) {
-                sendError(channel, UNSUPPORTED_FORMAT);
-                return;
-            }
+    /**
+     * Resolves the endpoint of a request once, on the event loop, and queues the request on its lane and bulkhead.
+     */
+    private <O> void dispatch(Channel channel, InboundMessage msg, EndpointRouter<Endpoint<O>> router, O origin,
+                              String originLane) {
+        Endpoint<O> endpoint = router.resolve(msg.getEndpoint());
+        Dispatcher lane = laneOf(lanes, endpoint, originLane);
+        Supplier<CompletionStage<?>> task = () -> handle(channel, msg, router, endpoint, origin);
+        Runnable overloaded = () -> respond(channel, msg, OVERLOADED.getResponse());
+
+        if (endpoint == null || endpoint.getBulkhead() == null) {
+            lane.dispatch(channel, task::get, overloaded);
+        } else if (!endpoint.getBulkhead().submit(lane, channel, task, overloaded)) {
+            overloaded.run();
+        }
+    }
 
-            JSON json = new JSON(jsonObject);
+    /**
+     * Chooses the lane of a request: the lane of its endpoint if the endpoint sets one, otherwise the lane of its
+     * origin, so requests of other microservices never queue behind user requests.
+     */
+    static Dispatcher laneOf(Map<String, Dispatcher> lanes, Endpoint<?> endpoint, String originLane) {
+        return lanes.get(endpoint != null ? endpoint.getLane() : originLane);
+    }
 
-            if (json.get("error") != null) {
-                return;
-            }
+    private static Bulkhead bulkhead(String origin, String[] path, int maxConcurrent, int maxQueued) {
+        if (maxConcurrent <= 0) {
+            return null;
+        }
+        return new Bulkhead("endpoint." + origin + "." + String.join(".", path), maxConcurrent, maxQueued);
+    }
 
-            UUID tag = json.getUUID("tag");
-            JSONObject data = json.get("data", JSONObject.class);
-            JSONArray endpointJSONArray = json.get("endpoint", JSONArray.class);
+    private static ResponseCache cache(String origin, String[] path, String[] keys, Cached cached) {
+        if (cached == null) {
+            return null;
+        }
+        return new ResponseCache("cache." + origin + "." + String.join(".", path), selectKeys(path, keys, cached.keys()),
+                cached.ttl(), TimeUnit.SECONDS, cached.maxEntries(), cached.invalidatedBy());
+    }
 
-            if (tag == null || data == null) {
-                sendError(channel, MISSING_PARAMETERS);
-                return;
-            }
+    private static SingleFlight singleFlight(String origin, String[] path, String[] keys, Coalesced coalesced) {
+        if (coalesced == null) {
+            return null;
+        }
+        return new SingleFlight("coalesce." + origin + "." + String.join(".", path),
+                selectKeys(path, keys, coalesced.keys()), coalesced.perOrigin());
+    }
 
-            if (waitingForResponse.containsKey(tag) && endpointJSONArray == null) {
-                waitingForResponse.replace(tag, data);
-                return;
-            }
+    /**
+     * @return the selected keys or all keys of the endpoint if none are selected
+     */
+    private static String[] selectKeys(String[] path, String[] keys, String[] selected) {
+        if (selected.length == 0) {
+            return keys;
+        }
+        if (!Arrays.asList(keys).containsAll(Arrays.asList(selected))) {
+            throw new IllegalArgumentException("The keys " + Arrays.toString(selected) + " are not all keys of endpoint "
+                    + Arrays.toString(path) + ".");
+        }
+        return selected;
+    }
 
-            Object[] endpointArray = endpointJSONArray.toArray();
-            List<String> endpoint = Arrays.asList(Arrays.copyOf(endpointArray, endpointArray.length, String[].class));
+    static String lane(String lane, String origin) {
+        return lane.isEmpty() ? origin : lane;
+    }
 
-            UUID user = json.getUUID("user");
-            String ms = json.get("ms");
+    /**
+     * Calls the endpoint and answers on the connection the request came from.
+     * Requests whose deadline passed while they were queued are dropped without an answer.
+     *
+     * @return the stage of the answer or <code>null</code> if the request was dropped
+     */
+    private <O> CompletionStage<?> handle(Channel channel, InboundMessage msg, EndpointRouter<Endpoint<O>> router,
+                                          Endpoint<O> endpoint, O origin) {
+        String[] path = msg.getEndpoint();
+
+        CompletionStage<Void> answered = Deadline.call(msg.getDeadline(),
+                () -> call(router, endpoint, path, msg.getData(), origin)
+                        .thenAccept(responseData -> respond(channel, msg, responseData)));
+        if (answered == null) {
+            LOG.debug("Dropping request to {}, its deadline passed in the queue.", Arrays.toString(path));
+        }
+        return answered;
+    }
 
-            if (user != null) {
-                JSONObject responseData = handleFromUser(endpoint, data, user);
+    private static void respond(Channel channel, InboundMessage msg, JSONObject responseData) {
+        if (msg.getUser() != null) {
+            send(channel, JSONBuilder.anJSON()
+                    .add("tag", msg.getTag().toString())
+                    .add("data", responseData)
+                    .build());
+        } else if (msg.getMs() != null) {
+            sendToMicroService(channel, msg.getMs(), responseData, msg.getTag());
+        }
+    }
 
-                send(channel, JSONBuilder.anJSON()
-                        .add("tag", tag.toString())
-                        .add("data", responseData)
-                        .build());
-            } else if (ms != null && !waitingForResponse.containsKey(tag)) {
-                sendToMicroService(ms, handleFromMicroService(endpoint, data, ms), tag);
-            } else {
-                waitingForResponse.replace(tag, data);
-            }
-        }).start();
+    public CompletionStage<JSONObject> handleFromUser(String[] endpoint, JSONObject data, UUID user) {
+        return call(userEndpoints, userEndpoints.resolve(endpoint), endpoint, data, user);
+    }
 
+    public CompletionStage<JSONObject> handleFromMicroService(String[] endpoint, JSONObject data, String ms) {
+        return call(microServiceEndpoints, microServiceEndpoints.resolve(endpoint), endpoint, data, ms);
     }
 
-    public JSONObject handleFromUser(List<String> endpoint, JSONObject data, UUID user) {
-        if (userEndpoints.containsKey(endpoint)) {
-            Tuple<UserEndpoint, Method> tuple = userEndpoints.get(endpoint);
+    /**
+     * @param endpoint the endpoint resolved from the path, <code>null</code> if the router does not know the path
+     */
+    private <O> CompletionStage<JSONObject> call(EndpointRouter<Endpoint<O>> router, Endpoint<O> endpoint, String[] path,
+                                                 JSONObject data, O origin) {
+        if (endpoint == null) {
+            unknownEndpoint(router, path);
+            return CompletableFuture.completedFuture(UNKNOWN_SERVICE.getResponse());
+        }
 
-            UserEndpoint userEndpoint = tuple.getA();
+        JSONObject bound = endpoint.getBinder().bind(data);
+        if (bound == null) {
+            return CompletableFuture.completedFuture(MISSING_PARAMETERS.getResponse());
+        }
 
-            if (checkData(userEndpoint.keys(), userEndpoint.types(), data)) {
-                try {
-                    JSONObject result = (JSONObject) tuple.getB().invoke(new Object(), new JSON(data), user);
+        SingleFlight singleFlight = endpoint.getSingleFlight();
+        if (singleFlight != null) {
+            return singleFlight.execute(singleFlight.key(bound, origin), () -> call(endpoint, path, bound, origin));
+        }
+        return call(endpoint, path, bound, origin);
+    }
 
-                    if (result == null) {
-                        result = new JSONObject();
-                    }
+    private <O> CompletionStage<JSONObject> call(Endpoint<O> endpoint, String[] path, JSONObject data, O origin) {
+        ResponseCache cache = endpoint.getCache();
+        if (cache == null) {
+            return invoke(path, endpoint.getInvoker(), new JSON(data), origin);
+        }
 
-                    return result;
-                } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                    LOG.error("Error executing endpoint {}.", endpoint, e);
-                    return INTERNAL_ERROR.getResponse();
-                }
-            } else {
-                return MISSING_PARAMETERS.getResponse();
-            }
+        Object key = cache.key(data);
+        JSONObject cached = cache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
         }
 
-        return UNKNOWN_SERVICE.getResponse();
+        long generation = cache.getGeneration();
+        return invoke(path, endpoint.getInvoker(), new JSON(data), origin).thenApply(response -> {
+            if (response != INTERNAL_ERROR.getResponse()) {
+                cache.put(key, response, generation);
+            }
+            return response;
+        });
     }
 
-    public JSONObject handleFromMicroService(List<String> endpoint, JSONObject data, String ms) {
-        if (microServiceEndpoints.containsKey(endpoint)) {
-            Tuple<MicroServiceEndpoint, Method> tuple = microServiceEndpoints.get(endpoint);
-
-            MicroServiceEndpoint microServiceEndpoint = tuple.getA();
+    private void unknownEndpoint(EndpointRouter<?> router, String[] endpoint) {
+        unknownEndpoints.increment();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(router.diagnose(endpoint));
+        }
+    }
 
-            if (checkData(microServiceEndpoint.keys(), microServiceEndpoint.types(), data)) {
-                try {
-                    JSONObject result = (JSONObject) tuple.getB().invoke(new Object(), new JSON(data), ms);
+    /**
+     * Calls an endpoint, which either returns its response directly or a {@link CompletionStage} of it.
+     * Exceptions, including an exceptional completion of the stage, are answered with {@code INTERNAL_ERROR}.
+     * If the endpoint was aborted by a {@link DeadlineExceededException}, the returned stage completes exceptionally
+     * and nothing is answered.
+     */
+    static <O> CompletionStage<JSONObject> invoke(String[] endpoint, EndpointInvoker<O> invoker, JSON data, O origin) {
+        Object result;
+        try {
+            result = invoker.invoke(data, origin);
+        } catch (DeadlineExceededException e) {
+            LOG.debug("Aborted endpoint {}, the deadline of the request has passed.", Arrays.toString(endpoint));
+            return CompletableFuture.failedFuture(e);
+        } catch (Exception e) {
+            LOG.error("Error executing endpoint {}.", Arrays.toString(endpoint), e);
+            return CompletableFuture.completedFuture(INTERNAL_ERROR.getResponse());
+        }
 
-                    if (result == null) {
-                        result = new JSONObject();
+        if (result instanceof CompletionStage) {
+            return ((CompletionStage<?>) result).handle((response, cause) -> {
+                if (cause != null) {
+                    Throwable reason = cause instanceof CompletionException ? cause.getCause() : cause;
+                    if (reason instanceof DeadlineExceededException) {
+                        LOG.debug("Aborted endpoint {}, the deadline of the request has passed.",
+                                Arrays.toString(endpoint));
+                        throw new CompletionException(reason);
                     }
-
-                    return result;
-                } catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-                    LOG.error("Error executing endpoint {}.", endpoint, e);
+                    LOG.error("Error executing endpoint {}.", Arrays.toString(endpoint), cause);
                     return INTERNAL_ERROR.getResponse();
                 }
-            } else {
-                return MISSING_PARAMETERS.getResponse();
-            }
+
+                return toResponse(endpoint, response);
+            });
         }
 
-        return UNKNOWN_SERVICE.getResponse();
+        return CompletableFuture.completedFuture(toResponse(endpoint, result));
+    }
+
+    private static JSONObject toResponse(String[] endpoint, Object result) {
+        if (result == null) {
+            return new JSONObject();
+        }
+
+        if (!(result instanceof JSONObject)) {
+            LOG.error("Endpoint {} answered with {} instead of a JSONObject.", Arrays.toString(endpoint),
+                    result.getClass().getName());
+            return INTERNAL_ERROR.getResponse();
+        }
+
+        return (JSONObject) result;
     }
 
     public void sendToUser(UUID user, JSONObject data) {
-        send(channel, JSONBuilder.anJSON().add("action", "address").add("user", user.toString()).add("data", data).build());
+        client.push(JSONBuilder.anJSON().add("action", "address").add("user", user.toString()).add("data", data).build());
     }
 
     public void sendToMicroService(String ms, JSONObject data, UUID tag) {
+        client.send(JSONBuilder.anJSON().add("ms", ms).add("data", data).add("tag", tag.toString()).build());
+    }
+
+    private static void sendToMicroService(Channel channel, String ms, JSONObject data, UUID tag) {
         send(channel, JSONBuilder.anJSON().add("ms", ms).add("data", data).add("tag", tag.toString()).build());
     }
 
     public JSONObject contactMicroService(String ms, String[] endpoint, JSONObject data) {
-        return waitForResponse(JSONBuilder.anJSON()
+        return waitForResponse(contactMicroServiceAsync(ms, endpoint, data));
+    }
+
+    /**
+     * Sends a request to an endpoint of another microservice without waiting for the response.
+     * <p>
+     * The returned stage is completed by the netty thread which reads the response, so non-async dependent stages
+     * run on that thread and must not block. It completes exceptionally with a
+     * {@link java.util.concurrent.TimeoutException} if the microservice does not answer in time.
+     * <p>
+     * The request carries the time left until the deadline of the request being handled, or the response timeout if
+     * there is none or it has passed, and is given up after that time.
+     *
+     * @param ms       the name of the microservice
+     * @param endpoint the path of the endpoint
+     * @param data     the parameters
+     * @return the data of the response
+     * @throws DeadlineExceededException if the deadline of the request being handled has already passed and it has
+     *                                   not begun to change state, see {@link Deadline#begin()}
+     */
+    public CompletionStage<JSONObject> contactMicroServiceAsync(String ms, String[] endpoint, JSONObject data) {
+        return sendRequest(JSONBuilder.anJSON()
                 .add("ms", ms)
                 .add("data", data)
                 .add("endpoint", Arrays.asList(endpoint))
                 .build());
-
     }
 
     public User getUser(UUID user) {
-        JSON response = new JSON(waitForResponse(JSONBuilder.anJSON()
+        return waitForResponse(getUserAsync(user));
+    }
+
+    public CompletionStage<User> getUserAsync(UUID user) {
+        return sendRequest(JSONBuilder.anJSON()
                 .add("action", "user")
                 .add("data", JSONBuilder.anJSON().add("user", user.toString()).build())
-                .build()));
+                .build())
+                .thenApply(MicroService::parseUser);
+    }
+
+    public boolean isValidUser(UUID user) {
+        return getUser(user) != null;
+    }
+
+    public CompletionStage<Boolean> isValidUserAsync(UUID user) {
+        return getUserAsync(user).thenApply(Objects::nonNull);
+    }
+
+    private static User parseUser(JSONObject data) {
+        JSON response = new JSON(data);
 
         Boolean valid = response.get("valid", Boolean.class);
 
@@ -313,39 +511,40 @@ public abstract class MicroService extends SimpleChannelInboundHandler<String> {
         return new User(uuid, name, new Date(createdTimestamp), new Date(lastTimestamp));
     }
 
-    public boolean isValidUser(UUID user) {
-        return getUser(user) != null;
-    }
+    private CompletableFuture<JSONObject> sendRequest(JSONObject payload) {
+        Deadline.check();
 
-    private JSONObject waitForResponse(JSONObject payload) {
         UUID tag = UUID.randomUUID();
+        // a request which has begun to change state runs to its end, even past its deadline
+        long remaining = Deadline.remaining(Deadline.current());
+        long timeout = remaining > 0 ? Math.min(remaining, responses.getTimeout()) : responses.getTimeout();
 
         JSONBuilder jsonBuilder = JSONBuilder.anJSON();
         for (Object key : payload.keySet()) {
             jsonBuilder.add(key.toString(), payload.get(key));
         }
         jsonBuilder.add("tag", tag.toString());
+        jsonBuilder.add("timeout", timeout);
 
-        send(channel, jsonBuilder.build());
+        CompletableFuture<JSONObject> response = responses.register(tag, timeout);
 
-        waitingForResponse.put(tag, null);
+        client.send(jsonBuilder.build(), tag);
 
-        int counter = 0;
-        while (waitingForResponse.get(tag) == null) {
-            try {
-                Thread.sleep(10);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
+        return response;
+    }
 
-            counter++;
+    private static <T> T waitForResponse(CompletionStage<T> stage) {
+        CompletableFuture<T> response = stage.toCompletableFuture();
 
-            if (counter > 100 * 30) {
-                return null;
-            }
+        try {
+            return response.get();
+        } catch (InterruptedException e) {
+            response.cancel(false);
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null;
         }
-
-        return waitingForResponse.remove(tag);
     }
 
 }
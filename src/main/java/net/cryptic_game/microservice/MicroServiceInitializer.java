@@ -4,28 +4,58 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.SimpleChannelInboundHandler;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.handler.codec.json.JsonObjectDecoder;
-import io.netty.handler.codec.string.StringDecoder;
-import io.netty.handler.codec.string.StringEncoder;
-
-import java.nio.charset.StandardCharsets;
+import net.cryptic_game.microservice.codec.FrameDecoder;
+import net.cryptic_game.microservice.codec.Framing;
+import net.cryptic_game.microservice.codec.FramingNegotiationHandler;
+import net.cryptic_game.microservice.codec.InboundMessage;
+import net.cryptic_game.microservice.codec.JsonDecoder;
+import net.cryptic_game.microservice.codec.JsonEncoder;
+import net.cryptic_game.microservice.config.Config;
+import net.cryptic_game.microservice.config.DefaultConfig;
+import net.cryptic_game.microservice.socket.FlushBatchingHandler;
+import net.cryptic_game.microservice.socket.HeartbeatHandler;
+import net.cryptic_game.microservice.utils.JSONBuilder;
 
 public class MicroServiceInitializer extends ChannelInitializer<SocketChannel> {
 
-    private final SimpleChannelInboundHandler<String> handler;
+    private static final JsonDecoder JSON_DECODER = new JsonDecoder();
+    private static final JsonEncoder JSON_ENCODER = new JsonEncoder();
+    private static final HeartbeatHandler HEARTBEAT = new HeartbeatHandler(
+            Config.getInteger(DefaultConfig.SOCKET_HEARTBEAT_INTERVAL),
+            Config.getInteger(DefaultConfig.SOCKET_READ_TIMEOUT));
+
+    private final SimpleChannelInboundHandler<InboundMessage> handler;
+    private final Framing framing;
+    private final boolean compression;
 
-    MicroServiceInitializer(SimpleChannelInboundHandler<String> handler) {
+    MicroServiceInitializer(SimpleChannelInboundHandler<InboundMessage> handler, Framing framing, boolean compression) {
         this.handler = handler;
+        this.framing = framing;
+        this.compression = compression;
+    }
+
+    /**
+     * Offers the features of the connections in the registration which only the mssocket may enable.
+     */
+    static void offer(JSONBuilder registration) {
+        HEARTBEAT.offer(registration);
     }
 
     @Override
     protected void initChannel(SocketChannel channel) {
         ChannelPipeline pipeline = channel.pipeline();
 
-        pipeline.addLast(new JsonObjectDecoder());
-        pipeline.addLast(new StringDecoder(StandardCharsets.UTF_8));
-        pipeline.addLast(new StringEncoder(StandardCharsets.UTF_8));
-        pipeline.addLast(this.handler);
+        pipeline.addLast("flush", new FlushBatchingHandler(
+                Config.getInteger(DefaultConfig.SOCKET_FLUSH_BATCH_SIZE),
+                Config.getInteger(DefaultConfig.SOCKET_FLUSH_DELAY)));
+        pipeline.addLast("framer", new FrameDecoder(Config.getInteger(DefaultConfig.MSSOCKET_MAX_FRAME_SIZE)));
+        pipeline.addLast("decoder", JSON_DECODER);
+        pipeline.addLast("encoder", JSON_ENCODER);
+        // sees the answer to the registration before the negotiation consumes it
+        pipeline.addLast("heartbeat", HEARTBEAT);
+        pipeline.addLast("negotiation", new FramingNegotiationHandler(this.framing,
+                this.compression ? Config.getInteger(DefaultConfig.MSSOCKET_COMPRESSION_THRESHOLD) : -1));
+        pipeline.addLast("handler", this.handler);
     }
 
 }
@@ -0,0 +1,177 @@
+package net.cryptic_game.microservice.cache;
+
+import net.cryptic_game.microservice.endpoint.ParameterBinder;
+import net.cryptic_game.microservice.metrics.Metrics;
+import org.json.simple.JSONObject;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the responses of a read only endpoint for a limited time, keyed by the values of selected parameters.
+ * <p>
+ * Models call {@link #invalidate(Class)} after they changed, which clears all caches depending on them.
+ * A response computed while an invalidation happened is not stored, so a read racing a write can't bring back
+ * the old state. Changes made by other instances of the microservice are only seen after the TTL.
+ */
+public class ResponseCache {
+
+    private static final List<ResponseCache> CACHES = new CopyOnWriteArrayList<>();
+
+    private final String[] keys;
+    private final long ttl;
+    private final int maxEntries;
+    private final Class<?>[] invalidatedBy;
+    private final Map<Object, Entry> entries;
+    private long generation;
+
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private final LongAdder evictions;
+    private final LongAdder invalidations;
+
+    /**
+     * @param name          the prefix of the metrics
+     * @param keys          the parameters the response depends on
+     * @param ttl           how long a response is kept at most
+     * @param unit          the unit of the ttl
+     * @param maxEntries    how many responses are kept
+     * @param invalidatedBy the models whose changes clear the cache, all models if empty
+     */
+    public ResponseCache(final String name, final String[] keys, final long ttl, final TimeUnit unit,
+                         final int maxEntries, final Class<?>[] invalidatedBy) {
+        this.keys = keys;
+        this.ttl = unit.toNanos(ttl);
+        this.maxEntries = maxEntries;
+        this.invalidatedBy = invalidatedBy;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Object, Entry> eldest) {
+                if (this.size() > ResponseCache.this.maxEntries) {
+                    ResponseCache.this.evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.hits = Metrics.counter(name + ".hits");
+        this.misses = Metrics.counter(name + ".misses");
+        this.evictions = Metrics.counter(name + ".evictions");
+        this.invalidations = Metrics.counter(name + ".invalidations");
+        Metrics.gauge(name + ".size", this::size);
+
+        CACHES.add(this);
+    }
+
+    /**
+     * Clears all caches which depend on the model.
+     *
+     * @param model the class of the changed model
+     */
+    public static void invalidate(final Class<?> model) {
+        for (final ResponseCache cache : CACHES) {
+            if (cache.dependsOn(model)) {
+                cache.clear();
+            }
+        }
+    }
+
+    /**
+     * @param data the bound parameters of the request
+     * @return the key of the response
+     */
+    public Object key(final JSONObject data) {
+        return ParameterBinder.key(this.keys, data);
+    }
+
+    /**
+     * @param key the key of the response
+     * @return the cached response or <code>null</code>
+     */
+    public synchronized JSONObject get(final Object key) {
+        final Entry entry = this.entries.get(key);
+
+        if (entry == null) {
+            this.misses.increment();
+            return null;
+        } else if (System.nanoTime() - entry.expiresAt >= 0) {
+            this.entries.remove(key);
+            this.evictions.increment();
+            this.misses.increment();
+            return null;
+        }
+
+        this.hits.increment();
+        return entry.response;
+    }
+
+    /**
+     * @return the generation to pass to {@link #put(Object, JSONObject, long)} once the response is computed
+     */
+    public synchronized long getGeneration() {
+        return this.generation;
+    }
+
+    /**
+     * Stores a response unless the cache was invalidated since the generation was taken.
+     *
+     * @param key        the key of the response
+     * @param response   the response
+     * @param generation the generation taken before computing the response
+     */
+    public synchronized void put(final Object key, final JSONObject response, final long generation) {
+        if (generation == this.generation) {
+            this.entries.put(key, new Entry(response, System.nanoTime() + this.ttl));
+        }
+    }
+
+    public synchronized void clear() {
+        this.generation++;
+        this.entries.clear();
+        this.invalidations.increment();
+    }
+
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    private boolean dependsOn(final Class<?> model) {
+        if (this.invalidatedBy.length == 0) {
+            return true;
+        }
+        for (final Class<?> type : this.invalidatedBy) {
+            if (type.isAssignableFrom(model)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Entry {
+
+        private final JSONObject response;
+        private final long expiresAt;
+
+        private Entry(final JSONObject response, final long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package net.cryptic_game.microservice.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.CorruptedFrameException;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses JSON from the UTF-8 bytes of a {@link ByteBuf} without decoding the whole frame to a {@link String} first.
+ * <p>
+ * The result uses the same types as json-simple: {@link JSONObject}, {@link JSONArray}, {@link String},
+ * {@link Long}, {@link Double}, {@link Boolean} and <code>null</code>.
+ * <p>
+ * Objects and arrays may be nested at most {@link #MAX_DEPTH} levels deep, so a hostile frame can't overflow the stack.
+ */
+final class ByteBufJsonParser {
+
+    static final int MAX_DEPTH = 512;
+
+    private final ByteBuf buf;
+    private final int end;
+    private int index;
+    private int depth;
+
+    private ByteBufJsonParser(final ByteBuf buf) {
+        this.buf = buf;
+        this.index = buf.readerIndex();
+        this.end = buf.writerIndex();
+    }
+
+    /**
+     * Parses the readable bytes of the buffer. The reader index is not modified.
+     *
+     * @param buf the buffer containing exactly one JSON value
+     * @return the parsed value
+     * @throws CorruptedFrameException if the bytes are not valid JSON
+     */
+    static Object parse(final ByteBuf buf) {
+        final ByteBufJsonParser parser = new ByteBufJsonParser(buf);
+        final Object value = parser.readValue();
+
+        parser.skipWhitespace();
+        if (parser.index != parser.end) {
+            throw parser.unexpected();
+        }
+
+        return value;
+    }
+
+    private Object readValue() {
+        this.skipWhitespace();
+
+        if (this.index >= this.end) {
+            throw new CorruptedFrameException("Unexpected end of JSON.");
+        }
+
+        final byte b = this.buf.getByte(this.index);
+        switch (b) {
+            case '{':
+                return this.readObject();
+            case '[':
+                return this.readArray();
+            case '"':
+                return this.readString();
+            case 't':
+                this.expect("true");
+                return Boolean.TRUE;
+            case 'f':
+                this.expect("false");
+                return Boolean.FALSE;
+            case 'n':
+                this.expect("null");
+                return null;
+            default:
+                if (b == '-' || (b >= '0' && b <= '9')) {
+                    return this.readNumber();
+                }
+                throw this.unexpected();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private JSONObject readObject() {
+        final JSONObject object = new JSONObject();
+        this.enter();
+
+        this.skipWhitespace();
+        if (this.peek() == '}') {
+            this.index++;
+            this.depth--;
+            return object;
+        }
+
+        while (true) {
+            this.skipWhitespace();
+            if (this.peek() != '"') {
+                throw this.unexpected();
+            }
+            final String key = this.readString();
+
+            this.skipWhitespace();
+            if (this.peek() != ':') {
+                throw this.unexpected();
+            }
+            this.index++;
+
+            object.put(key, this.readValue());
+
+            this.skipWhitespace();
+            final byte b = this.peek();
+            this.index++;
+            if (b == '}') {
+                this.depth--;
+                return object;
+            } else if (b != ',') {
+                this.index--;
+                throw this.unexpected();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private JSONArray readArray() {
+        final JSONArray array = new JSONArray();
+        this.enter();
+
+        this.skipWhitespace();
+        if (this.peek() == ']') {
+            this.index++;
+            this.depth--;
+            return array;
+        }
+
+        while (true) {
+            array.add(this.readValue());
+
+            this.skipWhitespace();
+            final byte b = this.peek();
+            this.index++;
+            if (b == ']') {
+                this.depth--;
+                return array;
+            } else if (b != ',') {
+                this.index--;
+                throw this.unexpected();
+            }
+        }
+    }
+
+    /**
+     * Steps into an object or array.
+     */
+    private void enter() {
+        if (++this.depth > MAX_DEPTH) {
+            throw new CorruptedFrameException("JSON is nested deeper than " + MAX_DEPTH + " levels.");
+        }
+        this.index++;
+    }
+
+    private String readString() {
+        final int start = ++this.index;
+
+        // fast path: no escape sequences, decode the bytes in one go
+        while (this.index < this.end) {
+            final byte b = this.buf.getByte(this.index);
+            if (b == '"') {
+                final String value = this.buf.toString(start, this.index - start, StandardCharsets.UTF_8);
+                this.index++;
+                return value;
+            } else if (b == '\\') {
+                break;
+            }
+            this.index++;
+        }
+
+        final StringBuilder builder = new StringBuilder(this.buf.toString(start, this.index - start, StandardCharsets.UTF_8));
+
+        while (this.index < this.end) {
+            final byte b = this.buf.getByte(this.index);
+
+            if (b == '"') {
+                this.index++;
+                return builder.toString();
+            } else if (b == '\\') {
+                this.index++;
+                builder.append(this.readEscape());
+            } else {
+                final int chunk = this.index;
+                while (this.index < this.end && this.buf.getByte(this.index) != '"' && this.buf.getByte(this.index) != '\\') {
+                    this.index++;
+                }
+                builder.append(this.buf.toString(chunk, this.index - chunk, StandardCharsets.UTF_8));
+            }
+        }
+
+        throw new CorruptedFrameException("Unterminated JSON string.");
+    }
+
+    private char readEscape() {
+        final byte b = this.peek();
+        this.index++;
+
+        switch (b) {
+            case '"':
+                return '"';
+            case '\\':
+                return '\\';
+            case '/':
+                return '/';
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                if (this.index + 4 > this.end) {
+                    throw new CorruptedFrameException("Unexpected end of JSON.");
+                }
+                int c = 0;
+                for (int i = 0; i < 4; i++) {
+                    final int digit = Character.digit(this.buf.getByte(this.index++), 16);
+                    if (digit < 0) {
+                        this.index--;
+                        throw this.unexpected();
+                    }
+                    c = c << 4 | digit;
+                }
+                return (char) c;
+            default:
+                this.index--;
+                throw this.unexpected();
+        }
+    }
+
+    private Object readNumber() {
+        final int start = this.index;
+        boolean decimal = false;
+
+        while (this.index < this.end) {
+            final byte b = this.buf.getByte(this.index);
+            if (b == '.' || b == 'e' || b == 'E') {
+                decimal = true;
+            } else if (!(b >= '0' && b <= '9') && b != '-' && b != '+') {
+                break;
+            }
+            this.index++;
+        }
+
+        final String number = this.buf.toString(start, this.index - start, StandardCharsets.US_ASCII);
+        try {
+            return decimal ? (Object) Double.valueOf(number) : (Object) Long.valueOf(number);
+        } catch (NumberFormatException e) {
+            throw new CorruptedFrameException("Invalid JSON number " + number + ".", e);
+        }
+    }
+
+    private void expect(final String literal) {
+        for (int i = 0; i < literal.length(); i++) {
+            if (this.index >= this.end || this.buf.getByte(this.index) != literal.charAt(i)) {
+                throw this.unexpected();
+            }
+            this.index++;
+        }
+    }
+
+    private byte peek() {
+        if (this.index >= this.end) {
+            throw new CorruptedFrameException("Unexpected end of JSON.");
+        }
+        return this.buf.getByte(this.index);
+    }
+
+    private void skipWhitespace() {
+        while (this.index < this.end) {
+            final byte b = this.buf.getByte(this.index);
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return;
+            }
+            this.index++;
+        }
+    }
+
+    private CorruptedFrameException unexpected() {
+        if (this.index >= this.end) {
+            return new CorruptedFrameException("Unexpected end of JSON.");
+        }
+        return new CorruptedFrameException("Unexpected character '" + (char) this.buf.getByte(this.index)
+                + "' at position " + (this.index - this.buf.readerIndex()) + ".");
+    }
+}
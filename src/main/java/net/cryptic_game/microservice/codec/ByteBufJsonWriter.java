@@ -0,0 +1,157 @@
+package net.cryptic_game.microservice.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONAware;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONStreamAware;
+import org.json.simple.JSONValue;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes JSON as UTF-8 into a {@link ByteBuf}, escaping strings straight into the buffer.
+ * <p>
+ * The output is the same as json-simple's {@link JSONValue#toJSONString(Object)}, including its escapes. Maps, lists,
+ * strings, numbers, booleans and <code>null</code> are written here. Numbers are formatted by their
+ * {@link Object#toString()}. Anything else is left to json-simple through a {@link ByteBufWriter}.
+ */
+final class ByteBufJsonWriter {
+
+    private static final byte[] HEX = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
+
+    private ByteBufJsonWriter() {
+    }
+
+    /**
+     * @param value the value to write
+     * @param buf   the buffer to write to
+     * @throws IOException never, json-simple only declares it for values it writes itself
+     */
+    static void write(final Object value, final ByteBuf buf) throws IOException {
+        if (value == null) {
+            ByteBufUtil.writeAscii(buf, "null");
+        } else if (value instanceof String) {
+            writeString((String) value, buf);
+        } else if (value instanceof Double || value instanceof Float) {
+            final double number = ((Number) value).doubleValue();
+            ByteBufUtil.writeAscii(buf, Double.isNaN(number) || Double.isInfinite(number) ? "null" : value.toString());
+        } else if (value instanceof Number || value instanceof Boolean) {
+            ByteBufUtil.writeAscii(buf, value.toString());
+        } else if (value instanceof JSONObject || value instanceof Map && !isAware(value)) {
+            writeObject((Map<?, ?>) value, buf);
+        } else if (value instanceof JSONArray || value instanceof List && !isAware(value)) {
+            writeArray((List<?>) value, buf);
+        } else {
+            JSONValue.writeJSONString(value, new ByteBufWriter(buf));
+        }
+    }
+
+    private static boolean isAware(final Object value) {
+        return value instanceof JSONAware || value instanceof JSONStreamAware;
+    }
+
+    private static void writeObject(final Map<?, ?> map, final ByteBuf buf) throws IOException {
+        buf.writeByte('{');
+
+        final Iterator<? extends Map.Entry<?, ?>> entries = map.entrySet().iterator();
+        while (entries.hasNext()) {
+            final Map.Entry<?, ?> entry = entries.next();
+            writeString(String.valueOf(entry.getKey()), buf);
+            buf.writeByte(':');
+            write(entry.getValue(), buf);
+
+            if (entries.hasNext()) {
+                buf.writeByte(',');
+            }
+        }
+
+        buf.writeByte('}');
+    }
+
+    private static void writeArray(final List<?> list, final ByteBuf buf) throws IOException {
+        buf.writeByte('[');
+
+        for (int i = 0; i < list.size(); i++) {
+            if (i > 0) {
+                buf.writeByte(',');
+            }
+            write(list.get(i), buf);
+        }
+
+        buf.writeByte(']');
+    }
+
+    /**
+     * Writes a quoted string. Runs of characters which need no escape are encoded to UTF-8 in one go, surrogates are
+     * never escaped, so a run never splits a surrogate pair.
+     */
+    private static void writeString(final String string, final ByteBuf buf) {
+        buf.writeByte('"');
+
+        int start = 0;
+        for (int i = 0; i < string.length(); i++) {
+            final char c = string.charAt(i);
+            final char escape = escape(c);
+
+            if (escape == 0) {
+                continue;
+            }
+
+            if (start < i) {
+                ByteBufUtil.writeUtf8(buf, string, start, i);
+            }
+            start = i + 1;
+
+            buf.writeByte('\\');
+            if (escape == 'u') {
+                buf.writeByte('u');
+                buf.writeByte(HEX[c >> 12 & 0xF]);
+                buf.writeByte(HEX[c >> 8 & 0xF]);
+                buf.writeByte(HEX[c >> 4 & 0xF]);
+                buf.writeByte(HEX[c & 0xF]);
+            } else {
+                buf.writeByte(escape);
+            }
+        }
+
+        if (start < string.length()) {
+            ByteBufUtil.writeUtf8(buf, string, start, string.length());
+        }
+
+        buf.writeByte('"');
+    }
+
+    /**
+     * @return the character following the backslash, <code>'u'</code> for a unicode escape or 0 for none
+     */
+    private static char escape(final char c) {
+        switch (c) {
+            case '"':
+                return '"';
+            case '\\':
+                return '\\';
+            case '/':
+                return '/';
+            case '\b':
+                return 'b';
+            case '\f':
+                return 'f';
+            case '\n':
+                return 'n';
+            case '\r':
+                return 'r';
+            case '\t':
+                return 't';
+            default:
+                if (c <= '\u001F' || c >= '\u007F' && c <= '\u009F' || c >= '\u2000' && c <= '\u20FF') {
+                    return 'u';
+                }
+                return 0;
+        }
+    }
+}
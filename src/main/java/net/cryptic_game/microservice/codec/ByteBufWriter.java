@@ -0,0 +1,55 @@
+package net.cryptic_game.microservice.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+import java.io.Writer;
+import java.nio.CharBuffer;
+
+/**
+ * A {@link Writer} which encodes the characters as UTF-8 directly into a {@link ByteBuf}, used for the values
+ * {@link ByteBufJsonWriter} leaves to json-simple.
+ * <p>
+ * Surrogate pairs have to be written in one call, which json-simple always does.
+ */
+class ByteBufWriter extends Writer {
+
+    private final ByteBuf buf;
+
+    ByteBufWriter(final ByteBuf buf) {
+        this.buf = buf;
+    }
+
+    @Override
+    public void write(final int c) {
+        if (c < 0x80) {
+            this.buf.writeByte(c);
+        } else {
+            ByteBufUtil.writeUtf8(this.buf, String.valueOf((char) c));
+        }
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) {
+        ByteBufUtil.writeUtf8(this.buf, str, off, off + len);
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) {
+        ByteBufUtil.writeUtf8(this.buf, CharBuffer.wrap(cbuf, off, len));
+    }
+
+    @Override
+    public Writer append(final CharSequence csq) {
+        ByteBufUtil.writeUtf8(this.buf, csq);
+        return this;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,207 @@
+package net.cryptic_game.microservice.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.TooLongFrameException;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import static net.cryptic_game.microservice.codec.LengthFrameEncoder.COMPRESSED;
+import static net.cryptic_game.microservice.codec.LengthFrameEncoder.LENGTH_FIELD;
+
+/**
+ * Splits the inbound bytes into frames, either by counting the braces of JSON objects or by a length prefix.
+ * <p>
+ * Only one frame is emitted per decode call, so a handler can change the {@link Framing} while it processes a frame
+ * and the bytes after it are decoded in the new mode.
+ * Length-prefixed frames deflated by a {@link LengthFrameEncoder} are inflated.
+ * A length-prefixed frame which is too long is discarded up to its declared length, so the frames after it are
+ * still found.
+ */
+public class FrameDecoder extends ByteToMessageDecoder {
+
+    private final int maxFrameLength;
+    private Framing framing = Framing.JSON;
+    private Inflater inflater;
+    private int discarding;
+
+    // scan state of a JSON frame which is not complete yet
+    private int scanned;
+    private int depth;
+    private boolean inString;
+    private boolean escaped;
+
+    /**
+     * @param maxFrameLength the maximum length of a frame in bytes
+     */
+    public FrameDecoder(final int maxFrameLength) {
+        this.maxFrameLength = maxFrameLength;
+    }
+
+    /**
+     * Switches the framing for all following bytes. Has to be called on the event loop of the channel.
+     *
+     * @param framing the new {@link Framing}
+     */
+    public void setFraming(final Framing framing) {
+        this.framing = framing;
+    }
+
+    public Framing getFraming() {
+        return this.framing;
+    }
+
+    @Override
+    protected void decode(final ChannelHandlerContext ctx, final ByteBuf in, final List<Object> out) {
+        if (this.framing == Framing.LENGTH) {
+            this.decodeLength(ctx.alloc(), in, out);
+        } else {
+            this.decodeJson(in, out);
+        }
+    }
+
+    private void decodeLength(final ByteBufAllocator alloc, final ByteBuf in, final List<Object> out) {
+        if (this.discarding > 0 && this.discard(in) > 0) {
+            return;
+        }
+        if (in.readableBytes() < LENGTH_FIELD) {
+            return;
+        }
+
+        final int header = in.getInt(in.readerIndex());
+        final int length = header & ~COMPRESSED;
+        if (length > this.maxFrameLength) {
+            in.skipBytes(LENGTH_FIELD);
+            this.discarding = length;
+            this.discard(in);
+            throw new TooLongFrameException("Frame length " + length + " exceeds " + this.maxFrameLength + ".");
+        }
+
+        if (in.readableBytes() < LENGTH_FIELD + length) {
+            return;
+        }
+
+        in.skipBytes(LENGTH_FIELD);
+        if ((header & COMPRESSED) == 0) {
+            out.add(in.readRetainedSlice(length));
+        } else {
+            out.add(this.inflate(alloc, in.readSlice(length)));
+        }
+    }
+
+    /**
+     * Skips the bytes of a too long frame which have arrived so far.
+     *
+     * @return the number of bytes of the frame still to be skipped
+     */
+    private int discard(final ByteBuf in) {
+        final int skipped = Math.min(this.discarding, in.readableBytes());
+        in.skipBytes(skipped);
+        this.discarding -= skipped;
+        return this.discarding;
+    }
+
+    private ByteBuf inflate(final ByteBufAllocator alloc, final ByteBuf compressed) {
+        if (compressed.readableBytes() < LENGTH_FIELD) {
+            throw new CorruptedFrameException("Compressed frame is too short.");
+        }
+
+        final int length = compressed.readInt();
+        if (length < 0 || length > this.maxFrameLength) {
+            throw new TooLongFrameException("Inflated frame length " + length + " exceeds " + this.maxFrameLength + ".");
+        }
+
+        if (this.inflater == null) {
+            this.inflater = new Inflater();
+        }
+        this.inflater.reset();
+        this.inflater.setInput(compressed.nioBuffer());
+
+        final ByteBuf frame = alloc.directBuffer(length);
+        final ByteBuffer target = frame.nioBuffer(0, length);
+        try {
+            while (!this.inflater.finished() && target.hasRemaining() && this.inflater.inflate(target) > 0) {
+                // inflate until the frame is complete
+            }
+        } catch (DataFormatException e) {
+            frame.release();
+            throw new CorruptedFrameException("Invalid compressed frame.", e);
+        }
+
+        if (!this.inflater.finished() || target.hasRemaining()) {
+            frame.release();
+            throw new CorruptedFrameException("Compressed frame does not match its length.");
+        }
+
+        return frame.writerIndex(length);
+    }
+
+    private void decodeJson(final ByteBuf in, final List<Object> out) {
+        final int end = in.writerIndex();
+        int index = in.readerIndex() + this.scanned;
+
+        while (index < end) {
+            final byte b = in.getByte(index);
+
+            if (this.depth == 0) {
+                if (b == '{' || b == '[') {
+                    in.readerIndex(index);
+                    this.depth = 1;
+                } else if (b == ' ' || b == '\n' || b == '\r' || b == '\t') {
+                    in.readerIndex(index + 1);
+                } else {
+                    in.readerIndex(index + 1);
+                    this.reset();
+                    throw new CorruptedFrameException("Invalid JSON received at byte position " + index + ".");
+                }
+            } else if (this.inString) {
+                if (this.escaped) {
+                    this.escaped = false;
+                } else if (b == '\\') {
+                    this.escaped = true;
+                } else if (b == '"') {
+                    this.inString = false;
+                }
+            } else if (b == '"') {
+                this.inString = true;
+            } else if (b == '{' || b == '[') {
+                this.depth++;
+            } else if ((b == '}' || b == ']') && --this.depth == 0) {
+                final int length = index + 1 - in.readerIndex();
+                this.reset();
+                out.add(in.readRetainedSlice(length));
+                return;
+            }
+
+            index++;
+        }
+
+        this.scanned = index - in.readerIndex();
+
+        if (this.scanned > this.maxFrameLength) {
+            in.skipBytes(in.readableBytes());
+            this.reset();
+            throw new TooLongFrameException("Frame exceeds " + this.maxFrameLength + " bytes.");
+        }
+    }
+
+    @Override
+    protected void handlerRemoved0(final ChannelHandlerContext ctx) {
+        if (this.inflater != null) {
+            this.inflater.end();
+        }
+    }
+
+    private void reset() {
+        this.scanned = 0;
+        this.depth = 0;
+        this.inString = false;
+        this.escaped = false;
+    }
+}
@@ -0,0 +1,28 @@
+package net.cryptic_game.microservice.codec;
+
+/**
+ * How messages are delimited on the connection to the mssocket.
+ */
+public enum Framing {
+
+    /**
+     * Each message is a bare JSON object, its end is found by counting braces.
+     */
+    JSON("json"),
+
+    /**
+     * Each message is prefixed with its length as a 4 byte big-endian integer.
+     */
+    LENGTH("length");
+
+    private final String name;
+
+    Framing(final String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+}
@@ -0,0 +1,59 @@
+package net.cryptic_game.microservice.codec;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import net.cryptic_game.microservice.utils.JSONBuilder;
+import org.json.simple.JSONObject;
+
+/**
+ * Switches a connection to length-prefixed framing if the mssocket accepts it.
+ * <p>
+ * The registration offers <code>"framing": "length"</code>. A mssocket which supports it answers with
+ * <code>{"action": "register", "framing": "length"}</code> and sends length-prefixed frames after that answer.
+ * We then send <code>{"action": "framing", "framing": "length"}</code> as our last JSON framed message
+ * and length-prefixed frames after it. A mssocket which does not answer keeps both directions on JSON framing.
+ * <p>
+ * The registration may additionally offer <code>"compression": "deflate"</code>. If the answer contains it as well,
+ * our frames above the compression threshold are deflated (see {@link LengthFrameEncoder}).
+ */
+public class FramingNegotiationHandler extends ChannelInboundHandlerAdapter {
+
+    public static final String DEFLATE = "deflate";
+
+    private final Framing offered;
+    private final int compressionThreshold;
+
+    /**
+     * @param offered              the framing offered in the registration
+     * @param compressionThreshold the minimum size in bytes of a frame to be deflated,
+     *                             negative if compression was not offered
+     */
+    public FramingNegotiationHandler(final Framing offered, final int compressionThreshold) {
+        this.offered = offered;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+        if (msg instanceof InboundMessage) {
+            final JSONObject json = ((InboundMessage) msg).getJSON();
+
+            if ("register".equals(json.get("action"))) {
+                if (this.offered == Framing.LENGTH && Framing.LENGTH.toString().equals(json.get("framing"))) {
+                    final boolean compression = this.compressionThreshold >= 0 && DEFLATE.equals(json.get("compression"));
+                    this.switchToLengthFraming(ctx, compression ? this.compressionThreshold : -1);
+                }
+                return;
+            }
+        }
+
+        ctx.fireChannelRead(msg);
+    }
+
+    private void switchToLengthFraming(final ChannelHandlerContext ctx, final int compressionThreshold) {
+        ctx.pipeline().get(FrameDecoder.class).setFraming(Framing.LENGTH);
+
+        ctx.writeAndFlush(JSONBuilder.anJSON().add("action", "framing").add("framing", Framing.LENGTH.toString()).build());
+        ctx.pipeline().addFirst("length-prepender", new LengthFrameEncoder(compressionThreshold));
+    }
+}
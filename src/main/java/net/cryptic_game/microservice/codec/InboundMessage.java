@@ -0,0 +1,131 @@
+package net.cryptic_game.microservice.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.CorruptedFrameException;
+import net.cryptic_game.microservice.communication.Deadline;
+import net.cryptic_game.microservice.utils.JSON;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+
+import java.util.UUID;
+
+/**
+ * A message read from the mssocket, either a request to one of our endpoints or a response to one of our requests.
+ */
+public class InboundMessage {
+
+    private final boolean error;
+    private final UUID tag;
+    private final String[] endpoint;
+    private final UUID user;
+    private final String ms;
+    private final JSONObject data;
+    private final long deadline;
+    private final JSONObject json;
+
+    public InboundMessage(final boolean error, final UUID tag, final String[] endpoint, final UUID user,
+                          final String ms, final JSONObject data, final long deadline, final JSONObject json) {
+        this.error = error;
+        this.tag = tag;
+        this.endpoint = endpoint;
+        this.user = user;
+        this.ms = ms;
+        this.data = data;
+        this.deadline = deadline;
+        this.json = json;
+    }
+
+    /**
+     * Parses a message from a frame containing a JSON object.
+     *
+     * @param frame the UTF-8 encoded frame
+     * @return the message
+     * @throws CorruptedFrameException if the frame is not a valid message
+     */
+    public static InboundMessage parse(final ByteBuf frame) {
+        final Object value = ByteBufJsonParser.parse(frame);
+
+        if (!(value instanceof JSONObject)) {
+            throw new CorruptedFrameException("Message is not a JSON object.");
+        }
+
+        final JSON json = new JSON((JSONObject) value);
+
+        return new InboundMessage(
+                json.get("error") != null,
+                json.getUUID("tag"),
+                toEndpoint(json.get("endpoint", JSONArray.class)),
+                json.getUUID("user"),
+                json.get("ms"),
+                json.get("data", JSONObject.class),
+                toDeadline(json.get("deadline", Long.class), json.get("timeout", Long.class)),
+                (JSONObject) value
+        );
+    }
+
+    /**
+     * A relative timeout is preferred, as it does not depend on the clocks of both sides being in sync.
+     */
+    private static long toDeadline(final Long deadline, final Long timeout) {
+        if (timeout != null) {
+            return System.currentTimeMillis() + Math.max(timeout, 1);
+        }
+        return deadline != null ? deadline : Deadline.NONE;
+    }
+
+    private static String[] toEndpoint(final JSONArray array) {
+        if (array == null) {
+            return null;
+        }
+
+        final String[] endpoint = new String[array.size()];
+        for (int i = 0; i < endpoint.length; i++) {
+            final Object segment = array.get(i);
+            if (!(segment instanceof String)) {
+                throw new CorruptedFrameException("Endpoint contains a non string segment.");
+            }
+            endpoint[i] = (String) segment;
+        }
+
+        return endpoint;
+    }
+
+    public boolean isError() {
+        return error;
+    }
+
+    public UUID getTag() {
+        return tag;
+    }
+
+    public String[] getEndpoint() {
+        return endpoint;
+    }
+
+    public UUID getUser() {
+        return user;
+    }
+
+    public String getMs() {
+        return ms;
+    }
+
+    public JSONObject getData() {
+        return data;
+    }
+
+    /**
+     * @return the time in epoch milliseconds after which the sender does not wait for a response anymore,
+     * {@link Deadline#NONE} if it waits forever
+     */
+    public long getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * @return the whole message, for fields which are not part of a request or response
+     */
+    public JSONObject getJSON() {
+        return json;
+    }
+}
@@ -0,0 +1,29 @@
+package net.cryptic_game.microservice.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.MessageToMessageDecoder;
+
+import java.util.List;
+
+import static net.cryptic_game.microservice.error.ServerError.UNSUPPORTED_FORMAT;
+import static net.cryptic_game.microservice.utils.SocketUtils.sendError;
+
+/**
+ * Parses each frame into an {@link InboundMessage} straight from its UTF-8 bytes and releases the frame.
+ * Frames which are not a valid message are answered with {@code UNSUPPORTED_FORMAT}.
+ */
+@ChannelHandler.Sharable
+public class JsonDecoder extends MessageToMessageDecoder<ByteBuf> {
+
+    @Override
+    protected void decode(final ChannelHandlerContext ctx, final ByteBuf msg, final List<Object> out) {
+        try {
+            out.add(InboundMessage.parse(msg));
+        } catch (CorruptedFrameException ignored) {
+            sendError(ctx.channel(), UNSUPPORTED_FORMAT);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package net.cryptic_game.microservice.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToByteEncoder;
+import org.json.simple.JSONObject;
+
+/**
+ * Serializes outbound {@link JSONObject}s as UTF-8 straight into a (pooled, direct) buffer of the channel's allocator.
+ * Neither the message nor its strings are built as an intermediate {@link String}, see {@link ByteBufJsonWriter}.
+ */
+@ChannelHandler.Sharable
+public class JsonEncoder extends MessageToByteEncoder<JSONObject> {
+
+    @Override
+    protected void encode(final ChannelHandlerContext ctx, final JSONObject msg, final ByteBuf out) throws Exception {
+        ByteBufJsonWriter.write(msg, out);
+    }
+}
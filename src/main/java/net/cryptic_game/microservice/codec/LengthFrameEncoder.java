@@ -0,0 +1,98 @@
+package net.cryptic_game.microservice.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageEncoder;
+import net.cryptic_game.microservice.metrics.Metrics;
+import net.cryptic_game.microservice.metrics.Timer;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Deflater;
+
+/**
+ * Prefixes each outbound frame with its length and deflates frames above a threshold.
+ * <p>
+ * A deflated frame has the highest bit of the length set and starts with the length of the inflated frame.
+ * The bytes saved and the time spent deflating are exported as <code>compression.bytes_saved</code> and
+ * <code>compression.time</code>.
+ */
+public class LengthFrameEncoder extends MessageToMessageEncoder<ByteBuf> {
+
+    static final int LENGTH_FIELD = 4;
+    static final int COMPRESSED = 0x80000000;
+
+    private static final LongAdder BYTES_SAVED = Metrics.counter("compression.bytes_saved");
+    private static final Timer TIME = Metrics.timer("compression.time");
+
+    private final int compressionThreshold;
+    private Deflater deflater;
+
+    /**
+     * @param compressionThreshold the minimum size in bytes of a frame to be deflated, negative to never deflate
+     */
+    public LengthFrameEncoder(final int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    protected void encode(final ChannelHandlerContext ctx, final ByteBuf msg, final List<Object> out) {
+        final int length = msg.readableBytes();
+
+        if (this.compressionThreshold >= 0 && length >= this.compressionThreshold && length > 2 * LENGTH_FIELD) {
+            final ByteBuf compressed = this.compress(ctx.alloc(), msg);
+            if (compressed != null) {
+                out.add(compressed);
+                return;
+            }
+        }
+
+        out.add(ctx.alloc().buffer(LENGTH_FIELD).writeInt(length));
+        out.add(msg.retain());
+    }
+
+    /**
+     * @return the deflated frame including its header or <code>null</code> if deflating saves nothing
+     */
+    private ByteBuf compress(final ByteBufAllocator alloc, final ByteBuf msg) {
+        final long start = System.nanoTime();
+        final int length = msg.readableBytes();
+
+        if (this.deflater == null) {
+            this.deflater = new Deflater(Deflater.BEST_SPEED);
+        }
+        this.deflater.reset();
+        this.deflater.setInput(msg.nioBuffer());
+        this.deflater.finish();
+
+        final ByteBuf frame = alloc.directBuffer(2 * LENGTH_FIELD + length);
+        final ByteBuffer target = frame.nioBuffer(2 * LENGTH_FIELD, length - LENGTH_FIELD);
+        while (!this.deflater.finished() && target.hasRemaining()) {
+            this.deflater.deflate(target);
+        }
+
+        if (!this.deflater.finished()) {
+            frame.release();
+            TIME.record(System.nanoTime() - start);
+            return null;
+        }
+
+        final int compressedLength = target.position();
+        frame.writeInt((LENGTH_FIELD + compressedLength) | COMPRESSED);
+        frame.writeInt(length);
+        frame.writerIndex(frame.writerIndex() + compressedLength);
+
+        BYTES_SAVED.add(length - LENGTH_FIELD - compressedLength);
+        TIME.record(System.nanoTime() - start);
+        return frame;
+    }
+
+    @Override
+    public void handlerRemoved(final ChannelHandlerContext ctx) {
+        if (this.deflater != null) {
+            this.deflater.end();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package net.cryptic_game.microservice.communication;
+
+import net.cryptic_game.microservice.metrics.Metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * The point in time (epoch milliseconds) after which nobody waits for the response to a request anymore.
+ * <p>
+ * While a request is handled, its deadline is bound to the handling thread. Requests whose deadline passed before
+ * they ran are dropped by {@link #run(long, Runnable)}, and requests to other microservices inherit the remaining
+ * time. Downstream calls {@link #check()} the deadline only until the request {@link #begin()}s to change state,
+ * e.g. opens its first database session, so a request is never aborted between two of its writes.
+ * Work dropped because its deadline has passed is counted as <code>deadline.shed</code>.
+ */
+public final class Deadline {
+
+    /**
+     * No deadline, the request is handled no matter how long it waited.
+     */
+    public static final long NONE = 0;
+
+    private static final ThreadLocal<Request> CURRENT = new ThreadLocal<>();
+    private static final LongAdder SHED = Metrics.counter("deadline.shed");
+
+    private Deadline() {
+    }
+
+    /**
+     * Runs a task with the given deadline bound to the current thread.
+     * If the deadline has already passed, the task is dropped and counted as shed.
+     *
+     * @param deadline the deadline of the request the task handles, {@link #NONE} for none
+     * @param task     the task
+     * @return <code>false</code> if the task was dropped
+     */
+    public static boolean run(final long deadline, final Runnable task) {
+        return call(deadline, () -> {
+            task.run();
+            return Boolean.TRUE;
+        }) != null;
+    }
+
+    /**
+     * Like {@link #run(long, Runnable)}, but returns the result of the task.
+     *
+     * @param deadline the deadline of the request the task handles, {@link #NONE} for none
+     * @param task     the task
+     * @param <T>      the type of the result
+     * @return the result of the task or <code>null</code> if the task was dropped
+     */
+    public static <T> T call(final long deadline, final Supplier<T> task) {
+        if (isExpired(deadline)) {
+            shed();
+            return null;
+        }
+
+        final Request previous = CURRENT.get();
+        CURRENT.set(new Request(deadline));
+
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return the deadline bound to the current thread or {@link #NONE}
+     */
+    public static long current() {
+        final Request request = CURRENT.get();
+        return request != null ? request.deadline : NONE;
+    }
+
+    /**
+     * @param deadline the deadline
+     * @return the milliseconds left until the deadline or {@link Long#MAX_VALUE} for {@link #NONE}
+     */
+    public static long remaining(final long deadline) {
+        return deadline == NONE ? Long.MAX_VALUE : deadline - System.currentTimeMillis();
+    }
+
+    public static boolean isExpired(final long deadline) {
+        return remaining(deadline) <= 0;
+    }
+
+    /**
+     * Counts a request which is dropped because its deadline has passed.
+     */
+    public static void shed() {
+        SHED.increment();
+    }
+
+    /**
+     * Aborts the current work if the deadline bound to this thread has passed and the work has not
+     * {@link #begin()}n to change state yet.
+     *
+     * @throws DeadlineExceededException if the work has to be aborted
+     */
+    public static void check() {
+        final Request request = CURRENT.get();
+
+        if (request != null && !request.begun && isExpired(request.deadline)) {
+            shed();
+            throw new DeadlineExceededException(request.deadline);
+        }
+    }
+
+    /**
+     * Checks the deadline one last time before the current work changes state, e.g. writes to the database.
+     * Afterwards the work runs to its end, {@link #check()} doesn't abort it anymore.
+     *
+     * @throws DeadlineExceededException if the deadline has passed and nothing was changed yet
+     */
+    public static void begin() {
+        check();
+
+        final Request request = CURRENT.get();
+        if (request != null) {
+            request.begun = true;
+        }
+    }
+
+    public static long getShedCount() {
+        return SHED.sum();
+    }
+
+    private static final class Request {
+
+        private final long deadline;
+        private boolean begun;
+
+        private Request(final long deadline) {
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package net.cryptic_game.microservice.communication;
+
+/**
+ * Thrown to abort work whose response nobody waits for anymore.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(final long deadline) {
+        super("Deadline " + deadline + " has passed.", null, false, false);
+    }
+}
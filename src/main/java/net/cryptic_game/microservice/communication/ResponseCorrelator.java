@@ -0,0 +1,167 @@
+package net.cryptic_game.microservice.communication;
+
+import io.netty.channel.Channel;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import net.cryptic_game.microservice.metrics.Metrics;
+import net.cryptic_game.microservice.metrics.Timer;
+import org.json.simple.JSONObject;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Matches responses to the requests we sent to other microservices by their tag.
+ * <p>
+ * Every request gets a {@link CompletableFuture} which is completed by the netty thread reading the response,
+ * or exceptionally with a {@link TimeoutException} by a timer if no response arrives in time.
+ * Requests which were written to a connection that is lost afterwards are failed right away.
+ * <p>
+ * Only answered requests are recorded as <code>response.round_trip</code>, timeouts are counted as
+ * <code>response.timeouts</code> and requests failed with their connection as <code>response.connection_lost</code>.
+ */
+public class ResponseCorrelator {
+
+    private static final HashedWheelTimer TIMER = new HashedWheelTimer(new DefaultThreadFactory("response-timeout", true));
+
+    private final Map<UUID, Pending> pending = new ConcurrentHashMap<>();
+    private final long timeout;
+
+    private final LongAdder timeouts = Metrics.counter("response.timeouts");
+    private final LongAdder failures = Metrics.counter("response.connection_lost");
+    private final Timer roundTrip = Metrics.timer("response.round_trip");
+
+    /**
+     * @param timeout the time in milliseconds after which a request is given up
+     */
+    public ResponseCorrelator(final long timeout) {
+        this.timeout = timeout;
+
+        Metrics.gauge("response.pending", this.pending::size);
+    }
+
+    /**
+     * Registers a request which is about to be sent.
+     *
+     * @param tag the tag of the request
+     * @return the future which is completed with the data of the response
+     */
+    public CompletableFuture<JSONObject> register(final UUID tag) {
+        return this.register(tag, this.timeout);
+    }
+
+    /**
+     * Registers a request which is about to be sent and is given up after the given time at the latest.
+     *
+     * @param tag     the tag of the request
+     * @param timeout the time in milliseconds after which the request is given up, capped by the default timeout
+     * @return the future which is completed with the data of the response
+     */
+    public CompletableFuture<JSONObject> register(final UUID tag, final long timeout) {
+        final long effectiveTimeout = Math.min(timeout, this.timeout);
+        final Pending pending = new Pending();
+        final long start = System.nanoTime();
+
+        this.pending.put(tag, pending);
+
+        final Timeout timer = TIMER.newTimeout(t -> {
+            if (this.pending.remove(tag, pending)) {
+                this.timeouts.increment();
+                pending.future.completeExceptionally(new TimeoutException("No response for " + tag + " after " + effectiveTimeout + " ms."));
+            }
+        }, effectiveTimeout, TimeUnit.MILLISECONDS);
+
+        pending.future.whenComplete((data, cause) -> {
+            timer.cancel();
+            this.pending.remove(tag, pending);
+            // timeouts and lost connections are counted on their own, they would only skew the round trip times
+            if (cause == null) {
+                this.roundTrip.record(System.nanoTime() - start);
+            }
+        });
+
+        return pending.future;
+    }
+
+    /**
+     * Remembers the connection a request is written to, so it can be failed if that connection is lost.
+     *
+     * @param tag     the tag of the request
+     * @param channel the {@link Channel} the request is written to
+     */
+    public void bind(final UUID tag, final Channel channel) {
+        final Pending pending = this.pending.get(tag);
+
+        if (pending != null) {
+            pending.channel = channel;
+        }
+    }
+
+    /**
+     * Completes the request with the given tag.
+     *
+     * @param tag  the tag of the response
+     * @param data the data of the response
+     * @return <code>true</code> if a request was waiting for this response
+     */
+    public boolean complete(final UUID tag, final JSONObject data) {
+        final Pending pending = this.pending.remove(tag);
+
+        if (pending == null) {
+            return false;
+        }
+
+        pending.future.complete(data);
+        return true;
+    }
+
+    /**
+     * Fails the request with the given tag.
+     *
+     * @param tag   the tag of the request
+     * @param cause the reason
+     */
+    public void fail(final UUID tag, final Throwable cause) {
+        final Pending pending = this.pending.remove(tag);
+
+        if (pending != null) {
+            pending.future.completeExceptionally(cause);
+        }
+    }
+
+    /**
+     * Fails all requests which were written to the given connection.
+     *
+     * @param channel the lost {@link Channel}
+     * @param cause   the reason
+     */
+    public void failAll(final Channel channel, final Throwable cause) {
+        this.pending.forEach((tag, pending) -> {
+            if (pending.channel == channel && this.pending.remove(tag, pending)) {
+                this.failures.increment();
+                pending.future.completeExceptionally(cause);
+            }
+        });
+    }
+
+    public long getTimeout() {
+        return this.timeout;
+    }
+
+    public int getPending() {
+        return this.pending.size();
+    }
+
+    private static class Pending {
+
+        private final CompletableFuture<JSONObject> future = new CompletableFuture<>();
+        private volatile Channel channel;
+
+    }
+}
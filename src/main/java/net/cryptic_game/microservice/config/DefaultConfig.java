@@ -1,5 +1,10 @@
 package net.cryptic_game.microservice.config;
 
+import net.cryptic_game.microservice.dispatch.DispatchMode;
+import net.cryptic_game.microservice.dispatch.RejectionPolicy;
+import net.cryptic_game.microservice.socket.Allocator;
+import net.cryptic_game.microservice.socket.PushPolicy;
+import net.cryptic_game.microservice.socket.Transport;
 import net.cryptic_game.microservice.sql.SqlServerType;
 
 import java.util.HashMap;
@@ -9,6 +14,31 @@ public enum DefaultConfig {
 
     MSSOCKET_HOST("127.0.0.1"),
     MSSOCKET_PORT(1239),
+    MSSOCKET_CONNECTIONS(1),
+    MSSOCKET_RECONNECT_MIN_DELAY(100),
+    MSSOCKET_RECONNECT_MAX_DELAY(5000),
+    MSSOCKET_RECONNECT_ATTEMPTS(5),
+    MSSOCKET_BUFFER_SIZE(1024),
+    MSSOCKET_FRAMING("json"),
+    MSSOCKET_MAX_FRAME_SIZE(1048576),
+    MSSOCKET_COMPRESSION(false),
+    MSSOCKET_COMPRESSION_THRESHOLD(4096),
+
+    SOCKET_FLUSH_BATCH_SIZE(64),
+    SOCKET_FLUSH_DELAY(0),
+    SOCKET_TRANSPORT(Transport.EPOLL.toString()),
+    SOCKET_EVENT_LOOP_THREADS(0),
+    SOCKET_TCP_NODELAY(true),
+    SOCKET_KEEPALIVE(true),
+    SOCKET_RECEIVE_BUFFER_SIZE(0),
+    SOCKET_SEND_BUFFER_SIZE(0),
+    SOCKET_WRITE_BUFFER_LOW_WATER_MARK(32768),
+    SOCKET_WRITE_BUFFER_HIGH_WATER_MARK(65536),
+    SOCKET_WRITE_BACKPRESSURE(false),
+    SOCKET_PUSH_POLICY(PushPolicy.SEND.toString()),
+    SOCKET_HEARTBEAT_INTERVAL(5),
+    SOCKET_READ_TIMEOUT(15),
+    SOCKET_ALLOCATOR(Allocator.POOLED.toString()),
 
     SQL_SERVER_TYPE(SqlServerType.MARIADB_10_03.toString()),
     SQL_SERVER_LOCATION("//localhost:3306"),
@@ -16,6 +46,16 @@ public enum DefaultConfig {
     SQL_SERVER_PASSWORD("cryptic"),
     SQL_SERVER_DATABASE("cryptic"),
 
+    DISPATCH_MODE(DispatchMode.PLATFORM.toString()),
+    DISPATCH_THREADS(64),
+    DISPATCH_QUEUE_SIZE(1024),
+    DISPATCH_REJECTION_POLICY(RejectionPolicy.ABORT.toString()),
+    DISPATCH_BACKPRESSURE(false),
+
+    RESPONSE_TIMEOUT(30000),
+
+    METRICS_INTERVAL(60),
+
     PRODUCTIVE(true),
     STORAGE_LOCATION("data/"),
     LOG_LEVEL("WARN");
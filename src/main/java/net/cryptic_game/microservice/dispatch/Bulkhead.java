@@ -0,0 +1,139 @@
+package net.cryptic_game.microservice.dispatch;
+
+import io.netty.channel.Channel;
+import net.cryptic_game.microservice.metrics.Metrics;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Limits how many requests of one endpoint run at once and how many wait for a free slot, so a heavy endpoint can't
+ * take all workers of its lane or all connections of the database pool.
+ * <p>
+ * Waiting requests are kept here instead of in the {@link Dispatcher}, they only occupy a worker once they may run.
+ * Requests beyond both limits are rejected right away.
+ * <p>
+ * A request holds its slot until its response is complete, so an endpoint answering with a
+ * {@link java.util.concurrent.CompletionStage} still counts as running while its worker is already free again.
+ */
+public class Bulkhead {
+
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Queue<Waiting> waiting = new ArrayDeque<>();
+    private int running;
+
+    private final LongAdder rejected;
+
+    /**
+     * @param name          the prefix of the metrics
+     * @param maxConcurrent how many requests may run at once
+     * @param maxQueued     how many requests may wait for one of them to finish
+     */
+    public Bulkhead(final String name, final int maxConcurrent, final int maxQueued) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+
+        this.rejected = Metrics.counter(name + ".rejected");
+        Metrics.gauge(name + ".running", this::getRunning);
+        Metrics.gauge(name + ".queued", this::getQueued);
+        Metrics.gauge(name + ".saturation_pct", () -> this.getRunning() * 100L / this.maxConcurrent);
+    }
+
+    /**
+     * Dispatches the task as soon as the limits allow it.
+     *
+     * @param dispatcher the lane of the endpoint
+     * @param channel    the {@link Channel} the message was read from
+     * @param task       the handling of the message, returns the stage of its response or <code>null</code> if it
+     *                   is already complete
+     * @param rejection  answers the message if the dispatcher rejects it, see {@link Dispatcher#dispatch}
+     * @return <code>false</code> if both limits are reached and the task was rejected
+     */
+    public boolean submit(final Dispatcher dispatcher, final Channel channel, final Supplier<? extends CompletionStage<?>> task,
+                          final Runnable rejection) {
+        synchronized (this) {
+            if (this.running >= this.maxConcurrent) {
+                if (this.waiting.size() >= this.maxQueued) {
+                    this.rejected.increment();
+                    return false;
+                }
+
+                this.waiting.add(new Waiting(dispatcher, channel, task, rejection));
+                return true;
+            }
+
+            this.running++;
+        }
+
+        this.run(dispatcher, channel, task, rejection);
+        return true;
+    }
+
+    public synchronized int getRunning() {
+        return this.running;
+    }
+
+    public synchronized int getQueued() {
+        return this.waiting.size();
+    }
+
+    public long getRejectedCount() {
+        return this.rejected.sum();
+    }
+
+    private void run(final Dispatcher dispatcher, final Channel channel, final Supplier<? extends CompletionStage<?>> task,
+                     final Runnable rejection) {
+        final boolean dispatched = dispatcher.dispatch(channel, () -> {
+            CompletionStage<?> response = null;
+            try {
+                response = task.get();
+            } finally {
+                if (response == null) {
+                    this.release();
+                } else {
+                    response.whenComplete((result, cause) -> this.release());
+                }
+            }
+        }, rejection);
+
+        if (!dispatched) {
+            this.release();
+        }
+    }
+
+    /**
+     * Hands the slot of a finished request over to the next waiting one.
+     */
+    private void release() {
+        final Waiting next;
+        synchronized (this) {
+            next = this.waiting.poll();
+            if (next == null) {
+                this.running--;
+                return;
+            }
+        }
+
+        this.run(next.dispatcher, next.channel, next.task, next.rejection);
+    }
+
+    private static final class Waiting {
+
+        private final Dispatcher dispatcher;
+        private final Channel channel;
+        private final Supplier<? extends CompletionStage<?>> task;
+        private final Runnable rejection;
+
+        private Waiting(final Dispatcher dispatcher, final Channel channel, final Supplier<? extends CompletionStage<?>> task,
+                        final Runnable rejection) {
+            this.dispatcher = dispatcher;
+            this.channel = channel;
+            this.task = task;
+            this.rejection = rejection;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package net.cryptic_game.microservice.dispatch;
+
+/**
+ * Kind of threads the {@link Dispatcher} runs the endpoints on.
+ */
+public enum DispatchMode {
+
+    /**
+     * A fixed size pool of platform threads with a bounded queue.
+     */
+    PLATFORM,
+
+    /**
+     * A new virtual thread per message. Requires Java 21 or newer, falls back to {@link #PLATFORM} otherwise.
+     */
+    VIRTUAL
+
+}
@@ -0,0 +1,220 @@
+package net.cryptic_game.microservice.dispatch;
+
+import io.netty.channel.Channel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import net.cryptic_game.microservice.config.Config;
+import net.cryptic_game.microservice.config.DefaultConfig;
+import net.cryptic_game.microservice.metrics.Metrics;
+import net.cryptic_game.microservice.metrics.Timer;
+import net.cryptic_game.microservice.socket.ReadGate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs the handling of inbound messages on worker threads.
+ * <p>
+ * In {@link DispatchMode#PLATFORM} mode the workers are a fixed pool of platform threads in front of a bounded queue.
+ * In {@link DispatchMode#VIRTUAL} mode every message gets its own virtual thread and the queue size limits how many
+ * messages are handled at once.
+ * <p>
+ * If backpressure is enabled, the dispatcher stops reading from a channel (auto read off) as soon as the queue is full
+ * and resumes reading once the queue has drained to half of its capacity.
+ * Messages which do not fit into the queue anyway are handled according to the {@link RejectionPolicy}.
+ * <p>
+ * Note that a paused channel does not deliver responses either, so backpressure should only be enabled if the
+ * handlers do not wait for other microservices on the same channel. A full dispatcher also pauses the messages of
+ * all other dispatchers (lanes) reading from the same channel.
+ * <p>
+ * The microservice runs one dispatcher per lane, see {@link #fromConfig(String)}.
+ */
+public class Dispatcher {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Dispatcher.class);
+
+    private final ExecutorService executor;
+    private final RejectionPolicy rejectionPolicy;
+    private final boolean backpressure;
+    private final int capacity;
+    private final int lowWaterMark;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Set<Channel> paused = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder rejected;
+    private final Timer queueTime;
+    private final Timer runTime;
+
+    public Dispatcher(final String name, final DispatchMode mode, final int threads, final int queueSize,
+                      final RejectionPolicy rejectionPolicy, final boolean backpressure) {
+        final ExecutorService virtual = mode == DispatchMode.VIRTUAL ? newVirtualThreadExecutor(name) : null;
+
+        if (virtual != null) {
+            this.executor = virtual;
+            this.capacity = queueSize;
+            this.lowWaterMark = queueSize / 2;
+        } else {
+            this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), new DefaultThreadFactory(name));
+            this.capacity = threads + queueSize;
+            this.lowWaterMark = threads + queueSize / 2;
+        }
+
+        this.rejectionPolicy = rejectionPolicy;
+        this.backpressure = backpressure;
+
+        this.rejected = Metrics.counter(name + ".rejected");
+        this.queueTime = Metrics.timer(name + ".queue_time");
+        this.runTime = Metrics.timer(name + ".run_time");
+        Metrics.gauge(name + ".queue_depth", this::getQueueDepth);
+        Metrics.gauge(name + ".in_flight", this.inFlight::get);
+    }
+
+    /**
+     * Creates the dispatcher of a lane, named <code>dispatch.&lt;lane&gt;</code>.
+     * <p>
+     * Every <code>DISPATCH_*</code> setting can be overridden for a single lane by inserting the upper case lane name,
+     * e.g. <code>DISPATCH_MS_THREADS</code> for the lane <code>ms</code>.
+     * Settings which are not overridden are shared by all lanes.
+     *
+     * @param lane the name of the lane
+     * @return the dispatcher
+     */
+    public static Dispatcher fromConfig(final String lane) {
+        return new Dispatcher("dispatch." + lane,
+                DispatchMode.valueOf(setting(lane, DefaultConfig.DISPATCH_MODE).toUpperCase()),
+                Integer.parseInt(setting(lane, DefaultConfig.DISPATCH_THREADS)),
+                Integer.parseInt(setting(lane, DefaultConfig.DISPATCH_QUEUE_SIZE)),
+                RejectionPolicy.valueOf(setting(lane, DefaultConfig.DISPATCH_REJECTION_POLICY).toUpperCase()),
+                Boolean.parseBoolean(setting(lane, DefaultConfig.DISPATCH_BACKPRESSURE)));
+    }
+
+    private static String setting(final String lane, final DefaultConfig setting) {
+        final String value = Config.get(setting.name().replaceFirst("^DISPATCH_", "DISPATCH_" + lane.toUpperCase() + "_"));
+        return value != null ? value : Config.get(setting);
+    }
+
+    /**
+     * Creates an executor which starts a new virtual thread for each task.
+     * The API is looked up reflectively, so this class still compiles and runs on Java 11.
+     *
+     * @param name the prefix of the thread names
+     * @return the executor or <code>null</code> if the runtime has no virtual threads
+     */
+    private static ExecutorService newVirtualThreadExecutor(final String name) {
+        try {
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builderClass.getMethod("name", String.class, long.class).invoke(builder, name + "-", 0L);
+            final ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            LOG.warn("Virtual threads are not available on Java {}, falling back to platform threads.",
+                    System.getProperty("java.version"));
+            return null;
+        }
+    }
+
+    /**
+     * Queues a task which was caused by a message read from the given channel.
+     *
+     * @param channel   the {@link Channel} the message was read from
+     * @param task      the handling of the message
+     * @param rejection answers the message with an <code>overloaded</code> error,
+     *                  run if the task is rejected with {@link RejectionPolicy#ABORT}
+     * @return <code>false</code> if the task was rejected, see {@link RejectionPolicy}
+     */
+    public boolean dispatch(final Channel channel, final Runnable task, final Runnable rejection) {
+        if (this.inFlight.incrementAndGet() > this.capacity) {
+            this.inFlight.decrementAndGet();
+            this.reject(rejection);
+            return false;
+        }
+
+        final long queuedAt = System.nanoTime();
+
+        try {
+            this.executor.execute(() -> {
+                final long startedAt = System.nanoTime();
+                this.queueTime.record(startedAt - queuedAt);
+                try {
+                    task.run();
+                } finally {
+                    this.runTime.record(System.nanoTime() - startedAt);
+                    this.inFlight.decrementAndGet();
+                    this.resume();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            this.inFlight.decrementAndGet();
+            this.reject(rejection);
+            return false;
+        }
+
+        if (this.backpressure && this.inFlight.get() >= this.capacity && this.paused.add(channel)) {
+            LOG.debug("Dispatch queue is full, pausing reads from {}.", channel);
+            ReadGate.pause(channel, this);
+        }
+
+        return true;
+    }
+
+    public int getQueueDepth() {
+        return this.executor instanceof ThreadPoolExecutor ? ((ThreadPoolExecutor) this.executor).getQueue().size() : 0;
+    }
+
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return this.rejected.sum();
+    }
+
+    public Timer getQueueTime() {
+        return this.queueTime;
+    }
+
+    public Timer getRunTime() {
+        return this.runTime;
+    }
+
+    private void reject(final Runnable rejection) {
+        this.rejected.increment();
+
+        switch (this.rejectionPolicy) {
+            case ABORT:
+                LOG.warn("Dispatch queue is full, rejecting message.");
+                rejection.run();
+                break;
+            case DISCARD:
+                LOG.debug("Dispatch queue is full, discarding message.");
+                break;
+        }
+    }
+
+    private void resume() {
+        if (this.paused.isEmpty() || this.inFlight.get() > this.lowWaterMark) {
+            return;
+        }
+
+        for (final Channel channel : this.paused) {
+            if (this.paused.remove(channel)) {
+                LOG.debug("Dispatch queue drained, resuming reads from {}.", channel);
+                ReadGate.resume(channel, this);
+            }
+        }
+    }
+}
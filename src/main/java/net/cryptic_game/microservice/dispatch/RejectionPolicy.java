@@ -0,0 +1,18 @@
+package net.cryptic_game.microservice.dispatch;
+
+/**
+ * What the {@link Dispatcher} does with a message when its queue is full.
+ */
+public enum RejectionPolicy {
+
+    /**
+     * Answer with an <code>overloaded</code> error and drop the message.
+     */
+    ABORT,
+
+    /**
+     * Drop the message silently.
+     */
+    DISCARD
+
+}
@@ -0,0 +1,133 @@
+package net.cryptic_game.microservice.dispatch;
+
+import net.cryptic_game.microservice.communication.Deadline;
+import net.cryptic_game.microservice.communication.DeadlineExceededException;
+import net.cryptic_game.microservice.endpoint.ParameterBinder;
+import net.cryptic_game.microservice.metrics.Metrics;
+import org.json.simple.JSONObject;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent requests: while a request is executed, identical ones don't execute again but get
+ * the result of the running one. Requests arriving after it completed start a new execution.
+ * <p>
+ * Waiting requests don't block a worker, they are answered when the shared execution completes. They share its
+ * outcome, except for an abort because of the deadline of the executing request: waiting requests whose own
+ * {@link Deadline} has not passed yet then execute again, on the thread which completed the aborted execution.
+ */
+public class SingleFlight {
+
+    private final String[] keys;
+    private final boolean perOrigin;
+    private final Map<Object, CompletableFuture<JSONObject>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder executions;
+    private final LongAdder coalesced;
+
+    /**
+     * @param name      the prefix of the metrics
+     * @param keys      the parameters which make requests identical
+     * @param perOrigin whether only requests of the same origin are identical
+     */
+    public SingleFlight(final String name, final String[] keys, final boolean perOrigin) {
+        this.keys = keys;
+        this.perOrigin = perOrigin;
+
+        this.executions = Metrics.counter(name + ".executions");
+        this.coalesced = Metrics.counter(name + ".coalesced");
+        Metrics.gauge(name + ".in_flight", this.inFlight::size);
+    }
+
+    /**
+     * @param data   the bound parameters of the request
+     * @param origin the user or microservice the request came from
+     * @return the key identifying identical requests
+     */
+    public Object key(final JSONObject data, final Object origin) {
+        final Object key = ParameterBinder.key(this.keys, data);
+        return this.perOrigin ? Arrays.asList(key, origin) : key;
+    }
+
+    /**
+     * @param key       identifies identical requests
+     * @param execution executes the request
+     * @return the result of the running execution for this key or of a new one
+     */
+    public CompletionStage<JSONObject> execute(final Object key, final Supplier<CompletionStage<JSONObject>> execution) {
+        final CompletableFuture<JSONObject> flight = new CompletableFuture<>();
+        final CompletableFuture<JSONObject> running = this.inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            this.coalesced.increment();
+            return this.follow(running, key, execution, Deadline.current());
+        }
+
+        this.executions.increment();
+        try {
+            execution.get().whenComplete((response, cause) -> {
+                this.inFlight.remove(key, flight);
+                complete(flight, response, cause);
+            });
+        } catch (RuntimeException e) {
+            this.inFlight.remove(key, flight);
+            flight.completeExceptionally(e);
+        }
+
+        return flight;
+    }
+
+    private CompletionStage<JSONObject> follow(final CompletableFuture<JSONObject> running, final Object key,
+                                               final Supplier<CompletionStage<JSONObject>> execution,
+                                               final long deadline) {
+        final CompletableFuture<JSONObject> result = new CompletableFuture<>();
+
+        running.whenComplete((response, cause) -> {
+            if (cause != null && isDeadlineExceeded(cause) && !Deadline.isExpired(deadline)) {
+                // only the executing request ran out of time, this one still has time to execute on its own
+                final CompletionStage<JSONObject> retried = Deadline.call(deadline, () -> this.execute(key, execution));
+                if (retried == null) {
+                    result.completeExceptionally(new DeadlineExceededException(deadline));
+                } else {
+                    retried.whenComplete((retriedResponse, retriedCause) ->
+                            complete(result, retriedResponse, retriedCause));
+                }
+            } else {
+                complete(result, response, cause);
+            }
+        });
+
+        return result;
+    }
+
+    private static boolean isDeadlineExceeded(final Throwable cause) {
+        Throwable unwrapped = cause;
+        while (unwrapped instanceof CompletionException && unwrapped.getCause() != null) {
+            unwrapped = unwrapped.getCause();
+        }
+        return unwrapped instanceof DeadlineExceededException;
+    }
+
+    private static void complete(final CompletableFuture<JSONObject> result, final JSONObject response,
+                                 final Throwable cause) {
+        if (cause != null) {
+            result.completeExceptionally(cause);
+        } else {
+            result.complete(response);
+        }
+    }
+
+    public long getExecutions() {
+        return this.executions.sum();
+    }
+
+    public long getCoalesced() {
+        return this.coalesced.sum();
+    }
+}
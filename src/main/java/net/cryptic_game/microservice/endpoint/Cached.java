@@ -0,0 +1,36 @@
+package net.cryptic_game.microservice.endpoint;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the responses of a read only endpoint, see {@link net.cryptic_game.microservice.cache.ResponseCache}.
+ * <p>
+ * Only use it for endpoints whose response does not depend on the user or microservice asking.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Cached {
+
+    /**
+     * @return how many seconds a response is kept at most
+     */
+    int ttl() default 30;
+
+    /**
+     * @return how many responses are kept, the least recently used ones are evicted first
+     */
+    int maxEntries() default 1024;
+
+    /**
+     * @return the parameters the response depends on, by default all keys of the endpoint
+     */
+    String[] keys() default {};
+
+    /**
+     * @return the models whose changes invalidate the cache, by default all of them
+     */
+    Class<?>[] invalidatedBy() default {};
+}
@@ -0,0 +1,26 @@
+package net.cryptic_game.microservice.endpoint;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets identical concurrent requests of a read only endpoint share one execution,
+ * see {@link net.cryptic_game.microservice.dispatch.SingleFlight}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Coalesced {
+
+    /**
+     * @return the parameters which make requests identical, by default all keys of the endpoint
+     */
+    String[] keys() default {};
+
+    /**
+     * @return whether only requests of the same user or microservice are identical,
+     * required if the response depends on who is asking
+     */
+    boolean perOrigin() default false;
+}
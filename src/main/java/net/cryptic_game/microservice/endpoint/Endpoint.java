@@ -0,0 +1,63 @@
+package net.cryptic_game.microservice.endpoint;
+
+import net.cryptic_game.microservice.cache.ResponseCache;
+import net.cryptic_game.microservice.dispatch.Bulkhead;
+import net.cryptic_game.microservice.dispatch.SingleFlight;
+
+/**
+ * Everything needed to handle the requests of an endpoint, compiled once at registration.
+ *
+ * @param <O> the type of the origin of a request, see {@link EndpointInvoker}
+ */
+public final class Endpoint<O> {
+
+    private final String lane;
+    private final ParameterBinder binder;
+    private final EndpointInvoker<O> invoker;
+    private final Bulkhead bulkhead;
+    private final ResponseCache cache;
+    private final SingleFlight singleFlight;
+
+    public Endpoint(final String lane, final ParameterBinder binder, final EndpointInvoker<O> invoker,
+                    final Bulkhead bulkhead, final ResponseCache cache, final SingleFlight singleFlight) {
+        this.lane = lane;
+        this.binder = binder;
+        this.invoker = invoker;
+        this.bulkhead = bulkhead;
+        this.cache = cache;
+        this.singleFlight = singleFlight;
+    }
+
+    public String getLane() {
+        return this.lane;
+    }
+
+    public ParameterBinder getBinder() {
+        return this.binder;
+    }
+
+    public EndpointInvoker<O> getInvoker() {
+        return this.invoker;
+    }
+
+    /**
+     * @return the limits of the endpoint or <code>null</code> if it has none
+     */
+    public Bulkhead getBulkhead() {
+        return this.bulkhead;
+    }
+
+    /**
+     * @return the cache of the responses or <code>null</code> if the endpoint is not {@link Cached}
+     */
+    public ResponseCache getCache() {
+        return this.cache;
+    }
+
+    /**
+     * @return the coalescing of identical requests or <code>null</code> if the endpoint is not {@link Coalesced}
+     */
+    public SingleFlight getSingleFlight() {
+        return this.singleFlight;
+    }
+}
@@ -0,0 +1,63 @@
+package net.cryptic_game.microservice.endpoint;
+
+import net.cryptic_game.microservice.utils.JSON;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Calls an endpoint method directly, without reflection, boxing of the arguments or wrapping of thrown exceptions.
+ *
+ * @param <O> the type of the origin of a request, {@link java.util.UUID} for users and {@link String} for microservices
+ */
+@FunctionalInterface
+public interface EndpointInvoker<O> {
+
+    /**
+     * @param data   the data of the request
+     * @param origin the user or microservice the request came from
+     * @return the response, a {@link org.json.simple.JSONObject} or a {@link java.util.concurrent.CompletionStage}
+     */
+    Object invoke(JSON data, O origin);
+
+    /**
+     * Generates an invoker for an endpoint method using the {@link LambdaMetafactory}, so it is as fast as a lambda
+     * calling the method.
+     *
+     * @param method the endpoint method, it has to be <code>static</code> and take the data and the origin
+     * @param origin the type of the origin
+     * @param <O>    the type of the origin
+     * @return the invoker
+     * @throws IllegalArgumentException if the method does not have the signature of an endpoint
+     */
+    @SuppressWarnings("unchecked")
+    static <O> EndpointInvoker<O> of(final Method method, final Class<O> origin) {
+        if (!Modifier.isStatic(method.getModifiers()) || method.getReturnType().isPrimitive()
+                || method.getParameterCount() != 2
+                || method.getParameterTypes()[0] != JSON.class || method.getParameterTypes()[1] != origin) {
+            throw new IllegalArgumentException("Endpoint " + method + " has to be static, return an object and take ("
+                    + JSON.class.getSimpleName() + ", " + origin.getSimpleName() + ").");
+        }
+
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            final MethodHandle target = lookup.unreflect(method);
+            final CallSite site = LambdaMetafactory.metafactory(lookup, "invoke",
+                    MethodType.methodType(EndpointInvoker.class),
+                    MethodType.methodType(Object.class, JSON.class, Object.class),
+                    target, target.type());
+
+            return (EndpointInvoker<O>) site.getTarget().invokeExact();
+        } catch (IllegalAccessException | LambdaConversionException e) {
+            throw new IllegalArgumentException("Could not generate an invoker for endpoint " + method + ".", e);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not generate an invoker for endpoint " + method + ".", e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package net.cryptic_game.microservice.endpoint;
+
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Lists the endpoint methods and entity classes of the microservice.
+ * <p>
+ * The registry is generated at compile time by the
+ * {@link net.cryptic_game.microservice.processor.RegistryProcessor}, so the startup needs no classpath scan.
+ * Builds without annotation processing (e.g. some IDEs) fall back to {@link ReflectiveEndpointRegistry}.
+ */
+public interface EndpointRegistry {
+
+    String GENERATED = "net.cryptic_game.microservice.endpoint.GeneratedEndpointRegistry";
+
+    List<Method> getUserEndpoints();
+
+    List<Method> getMicroServiceEndpoints();
+
+    List<Class<?>> getEntities();
+
+    /**
+     * @return the generated registry or the reflective one if there is none
+     */
+    static EndpointRegistry load() {
+        try {
+            return (EndpointRegistry) Class.forName(GENERATED).getConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            LoggerFactory.getLogger(EndpointRegistry.class)
+                    .warn("No generated endpoint registry found, scanning the classpath instead.");
+            return new ReflectiveEndpointRegistry("net.cryptic_game.microservice");
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not load the generated endpoint registry.", e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package net.cryptic_game.microservice.endpoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves endpoint paths to their handlers by walking a trie of the path segments.
+ * <p>
+ * Resolving allocates nothing, it only looks up each segment in the children of the previous one.
+ * The router is filled at startup and only read afterwards, so lookups need no synchronization.
+ *
+ * @param <E> the type of the handlers
+ */
+public class EndpointRouter<E> {
+
+    private final Node<E> root = new Node<>();
+    private int size;
+
+    /**
+     * @param path    the path of the endpoint
+     * @param handler the handler of the endpoint
+     * @throws IllegalStateException if there already is an endpoint with this path
+     */
+    public void add(final String[] path, final E handler) {
+        Node<E> node = this.root;
+        for (final String segment : path) {
+            node = node.children.computeIfAbsent(segment, key -> new Node<>());
+        }
+
+        if (node.handler != null) {
+            throw new IllegalStateException("There are two endpoints with the path " + Arrays.toString(path) + ".");
+        }
+
+        node.handler = handler;
+        this.size++;
+    }
+
+    /**
+     * @param path the path of the request
+     * @return the handler or <code>null</code> if there is no endpoint with this path
+     */
+    public E resolve(final String[] path) {
+        Node<E> node = this.root;
+        for (int i = 0; i < path.length && node != null; i++) {
+            node = node.children.get(path[i]);
+        }
+        return node != null ? node.handler : null;
+    }
+
+    /**
+     * Explains why a path could not be resolved, naming the segment where it left the known endpoints.
+     *
+     * @param path a path which {@link #resolve(String[])} did not find
+     * @return the explanation
+     */
+    public String diagnose(final String[] path) {
+        Node<E> node = this.root;
+        int matched = 0;
+        while (matched < path.length && node.children.containsKey(path[matched])) {
+            node = node.children.get(path[matched++]);
+        }
+
+        final String known = Arrays.toString(Arrays.copyOf(path, matched));
+
+        if (matched == path.length) {
+            return "Unknown endpoint " + Arrays.toString(path) + ", it is only the beginning of "
+                    + this.paths(node, path) + ".";
+        }
+        return "Unknown endpoint " + Arrays.toString(path) + ", \"" + path[matched] + "\" does not follow " + known
+                + ", known are " + node.children.keySet() + ".";
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    private List<String> paths(final Node<E> node, final String[] prefix) {
+        final List<String> paths = new ArrayList<>();
+        this.collect(node, new ArrayList<>(Arrays.asList(prefix)), paths);
+        return paths;
+    }
+
+    private void collect(final Node<E> node, final List<String> path, final List<String> paths) {
+        if (node.handler != null) {
+            paths.add(path.toString());
+        }
+        for (final Map.Entry<String, Node<E>> child : node.children.entrySet()) {
+            path.add(child.getKey());
+            this.collect(child.getValue(), path, paths);
+            path.remove(path.size() - 1);
+        }
+    }
+
+    private static final class Node<E> {
+
+        private final Map<String, Node<E>> children = new HashMap<>();
+        private E handler;
+    }
+}
@@ -10,6 +10,25 @@ public @interface MicroServiceEndpoint {
 
     String[] keys();
 
+    /**
+     * @return the type of each key, the parameters are converted to it by the {@link ParameterBinder}
+     */
     Class<?>[] types();
 
+    /**
+     * @return the dispatch lane the requests are handled in, by default the <code>ms</code> lane
+     */
+    String lane() default "";
+
+    /**
+     * @return how many requests may run at once, <code>0</code> for no limit besides the lane
+     */
+    int maxConcurrent() default 0;
+
+    /**
+     * @return how many requests may wait for a free slot if {@link #maxConcurrent()} is reached,
+     * further requests are answered with <code>overloaded</code>
+     */
+    int maxQueued() default 0;
+
 }
@@ -0,0 +1,128 @@
+package net.cryptic_game.microservice.endpoint;
+
+import org.json.simple.JSONObject;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Validates and converts the parameters of a request in one pass, compiled once from the <code>keys</code> and
+ * <code>types</code> of an endpoint annotation.
+ * <p>
+ * Every value is looked up and converted exactly once. Converted values replace the raw ones in a copy of the data,
+ * so the endpoint reads e.g. a {@link UUID} with {@link net.cryptic_game.microservice.utils.JSON#getUUID(String)}
+ * without parsing it again, while the data of the request stays as it was received.
+ * <p>
+ * Supported types are {@link String}, {@link UUID} (sent as a string), {@link Boolean}, {@link Long}, {@link Integer},
+ * {@link Double} and their primitives. Any other type is only checked with {@link Class#isInstance(Object)}.
+ */
+public final class ParameterBinder {
+
+    private final String[] keys;
+    private final Function<Object, Object>[] converters;
+
+    @SuppressWarnings("unchecked")
+    private ParameterBinder(final String[] keys, final Class<?>[] types) {
+        this.keys = keys;
+        this.converters = new Function[types.length];
+        for (int i = 0; i < types.length; i++) {
+            this.converters[i] = converter(types[i]);
+        }
+    }
+
+    /**
+     * @param keys  the names of the parameters
+     * @param types the types of the parameters
+     * @return the binder
+     * @throws IllegalArgumentException if there is not exactly one type per key
+     */
+    public static ParameterBinder of(final String[] keys, final Class<?>[] types) {
+        if (keys.length != types.length) {
+            throw new IllegalArgumentException("Got " + keys.length + " keys but " + types.length + " types.");
+        }
+        return new ParameterBinder(keys, types);
+    }
+
+    /**
+     * Builds a key of the bound values of some parameters, e.g. to find identical requests.
+     * Keys of a single parameter are the value itself.
+     *
+     * @param keys the names of the parameters
+     * @param data the bound data of a request
+     * @return the key
+     */
+    public static Object key(final String[] keys, final JSONObject data) {
+        switch (keys.length) {
+            case 0:
+                return "";
+            case 1:
+                return data.get(keys[0]);
+            default:
+                final Object[] values = new Object[keys.length];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = data.get(keys[i]);
+                }
+                return Arrays.asList(values);
+        }
+    }
+
+    private static Function<Object, Object> converter(final Class<?> type) {
+        if (type == UUID.class) {
+            return value -> {
+                if (value instanceof UUID) {
+                    return value;
+                }
+                try {
+                    return value instanceof String ? UUID.fromString((String) value) : null;
+                } catch (IllegalArgumentException e) {
+                    return null;
+                }
+            };
+        } else if (type == Integer.class || type == int.class) {
+            return value -> value instanceof Long && (Long) value == ((Long) value).intValue()
+                    ? (Object) ((Long) value).intValue() : null;
+        } else if (type == Double.class || type == double.class) {
+            return value -> value instanceof Number ? (Object) ((Number) value).doubleValue() : null;
+        } else if (type == Boolean.class || type == boolean.class) {
+            return value -> value instanceof Boolean ? value : null;
+        } else if (type == Long.class || type == long.class) {
+            return value -> value instanceof Long ? value : null;
+        }
+        return value -> type.isInstance(value) ? value : null;
+    }
+
+    /**
+     * Binds the parameters of a request.
+     *
+     * @param data the data of the request, it is not changed
+     * @return the data with the converted values, which is <code>data</code> itself if nothing had to be converted,
+     * or <code>null</code> if a parameter is missing or invalid
+     */
+    @SuppressWarnings("unchecked")
+    public JSONObject bind(final JSONObject data) {
+        JSONObject bound = data;
+
+        for (int i = 0; i < this.keys.length; i++) {
+            final String key = this.keys[i];
+            final Object value = data.get(key);
+
+            if (value == null) {
+                return null;
+            }
+
+            final Object converted = this.converters[i].apply(value);
+            if (converted == null) {
+                return null;
+            }
+            if (converted != value) {
+                if (bound == data) {
+                    bound = new JSONObject(data);
+                }
+                bound.put(key, converted);
+            }
+        }
+
+        return bound;
+    }
+}
@@ -0,0 +1,53 @@
+package net.cryptic_game.microservice.endpoint;
+
+import org.reflections.Reflections;
+import org.reflections.ReflectionsException;
+import org.reflections.scanners.MethodAnnotationsScanner;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.scanners.TypeAnnotationsScanner;
+
+import javax.persistence.Entity;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds the endpoints and entities by scanning the classpath with {@link Reflections}.
+ */
+public class ReflectiveEndpointRegistry implements EndpointRegistry {
+
+    private final Reflections reflections;
+
+    public ReflectiveEndpointRegistry(final String prefix) {
+        this.reflections = new Reflections(prefix, new MethodAnnotationsScanner(), new TypeAnnotationsScanner(),
+                new SubTypesScanner());
+    }
+
+    @Override
+    public List<Method> getUserEndpoints() {
+        return this.getMethods(UserEndpoint.class);
+    }
+
+    @Override
+    public List<Method> getMicroServiceEndpoints() {
+        return this.getMethods(MicroServiceEndpoint.class);
+    }
+
+    @Override
+    public List<Class<?>> getEntities() {
+        try {
+            return new ArrayList<>(this.reflections.getTypesAnnotatedWith(Entity.class));
+        } catch (ReflectionsException ignored) {
+            return List.of();
+        }
+    }
+
+    private List<Method> getMethods(final Class<? extends Annotation> annotation) {
+        try {
+            return new ArrayList<>(this.reflections.getMethodsAnnotatedWith(annotation));
+        } catch (ReflectionsException ignored) {
+            return List.of();
+        }
+    }
+}
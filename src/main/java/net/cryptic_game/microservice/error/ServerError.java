@@ -1,5 +1,8 @@
 package net.cryptic_game.microservice.error;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
 import org.json.simple.JSONObject;
 
 import static net.cryptic_game.microservice.utils.JSONBuilder.error;
@@ -9,21 +12,37 @@ public enum ServerError {
     UNSUPPORTED_FORMAT("unsupported format"),
     MISSING_PARAMETERS("missing parameters"),
     INTERNAL_ERROR("internal error"),
-    UNKNOWN_SERVICE("unknown service");
+    UNKNOWN_SERVICE("unknown service"),
+    OVERLOADED("overloaded");
 
 
     private final JSONObject response;
+    private final ByteBuf encodedResponse;
     private final String message;
 
     ServerError(String message) {
         this.response = error(message);
+        this.encodedResponse = encode(this.response);
         this.message = message;
     }
 
+    private static ByteBuf encode(JSONObject response) {
+        ByteBuf buf = Unpooled.directBuffer();
+        ByteBufUtil.writeUtf8(buf, response.toJSONString());
+        return Unpooled.unreleasableBuffer(buf);
+    }
+
     public JSONObject getResponse() {
         return response;
     }
 
+    /**
+     * The response as UTF-8, shared by all sends. Write a {@link ByteBuf#retainedDuplicate()} of it.
+     */
+    public ByteBuf getEncodedResponse() {
+        return encodedResponse;
+    }
+
     @Override
     public String toString() {
         return message;
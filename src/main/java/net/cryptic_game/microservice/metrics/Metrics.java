@@ -0,0 +1,59 @@
+package net.cryptic_game.microservice.metrics;
+
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Process wide registry of counters, gauges and timers.
+ * <p>
+ * Metrics are identified by a dotted name, e.g. <code>dispatch.rejected</code>.
+ * Requesting the same name twice returns the same instance.
+ */
+public final class Metrics {
+
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<String, LongSupplier> GAUGES = new ConcurrentHashMap<>();
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+
+    private Metrics() {
+    }
+
+    public static LongAdder counter(final String name) {
+        return COUNTERS.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    public static void gauge(final String name, final LongSupplier supplier) {
+        GAUGES.put(name, supplier);
+    }
+
+    public static Timer timer(final String name) {
+        return TIMERS.computeIfAbsent(name, key -> new Timer());
+    }
+
+    /**
+     * Takes a point in time copy of all registered metrics.
+     * Timers are flattened into <code>.count</code>, <code>.total_us</code>, <code>.avg_us</code> and
+     * <code>.max_us</code> entries.
+     *
+     * @return the current values sorted by name
+     */
+    public static SortedMap<String, Long> snapshot() {
+        final SortedMap<String, Long> snapshot = new TreeMap<>();
+
+        COUNTERS.forEach((name, counter) -> snapshot.put(name, counter.sum()));
+        GAUGES.forEach((name, gauge) -> snapshot.put(name, gauge.getAsLong()));
+        TIMERS.forEach((name, timer) -> {
+            snapshot.put(name + ".count", timer.getCount());
+            snapshot.put(name + ".total_us", TimeUnit.NANOSECONDS.toMicros(timer.getTotalNanos()));
+            snapshot.put(name + ".avg_us", TimeUnit.NANOSECONDS.toMicros(timer.getAverageNanos()));
+            snapshot.put(name + ".max_us", TimeUnit.NANOSECONDS.toMicros(timer.getMaxNanos()));
+        });
+
+        return snapshot;
+    }
+}
@@ -0,0 +1,14 @@
+package net.cryptic_game.microservice.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class MetricsReporter implements Runnable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MetricsReporter.class);
+
+    @Override
+    public void run() {
+        LOG.info("{}", Metrics.snapshot());
+    }
+}
@@ -1,5 +1,6 @@
 package net.cryptic_game.microservice.model;
 
+import net.cryptic_game.microservice.cache.ResponseCache;
 import net.cryptic_game.microservice.sql.SqlService;
 import org.hibernate.Session;
 import org.hibernate.annotations.Type;
@@ -27,5 +28,7 @@ public abstract class Model {
 
         session.getTransaction().commit();
         session.close();
+
+        ResponseCache.invalidate(getClass());
     }
 }
@@ -1,5 +1,7 @@
 package net.cryptic_game.microservice.network.endpoint;
 
+import net.cryptic_game.microservice.endpoint.Cached;
+import net.cryptic_game.microservice.endpoint.Coalesced;
 import net.cryptic_game.microservice.endpoint.MicroServiceEndpoint;
 import net.cryptic_game.microservice.endpoint.UserEndpoint;
 import net.cryptic_game.microservice.network.Error;
@@ -19,6 +21,7 @@ import static net.cryptic_game.microservice.utils.JSONBuilder.simple;
 
 public class NetworkEndpoint {
 
+    @Cached(ttl = 60, maxEntries = 4096, invalidatedBy = Network.class)
     @UserEndpoint(path = {"name"}, keys = {"name"}, types = {String.class})
     public static JSONObject getByName(JSON data, UUID user) {
         String name = data.get("name");
@@ -31,7 +34,9 @@ public class NetworkEndpoint {
         return network.serialize();
     }
 
-    @UserEndpoint(path = {"get"}, keys = {"uuid"}, types = {String.class})
+    @Cached(ttl = 60, maxEntries = 4096, invalidatedBy = Network.class)
+    @Coalesced
+    @UserEndpoint(path = {"get"}, keys = {"uuid"}, types = {UUID.class})
     public static JSONObject getByUUID(JSON data, UUID user) {
         UUID uuid = data.getUUID("uuid");
 
@@ -43,6 +48,7 @@ public class NetworkEndpoint {
         return network.serialize();
     }
 
+    @Cached(ttl = 60, maxEntries = 1, invalidatedBy = Network.class)
     @UserEndpoint(path = {"public"}, keys = {}, types = {})
     public static JSONObject getAllPublicNetworks(JSON data, UUID user) {
         List<Network> networks = Network.getPublicNetworks();
@@ -56,7 +62,7 @@ public class NetworkEndpoint {
         return simple("networks", jsonNetworks);
     }
 
-    @UserEndpoint(path = {"create"}, keys = {"device", "name", "hidden"}, types = {String.class, String.class,
+    @UserEndpoint(path = {"create"}, keys = {"device", "name", "hidden"}, types = {UUID.class, String.class,
             Boolean.class})
     public static JSONObject create(JSON data, UUID user) {
         UUID device = data.getUUID("device");
@@ -91,8 +97,7 @@ public class NetworkEndpoint {
         }
     }
 
-    @MicroServiceEndpoint(path = {"check"}, keys = {"source", "destination"}, types = {String.class,
-            String.class})
+    @MicroServiceEndpoint(path = {"check"}, keys = {"source", "destination"}, types = {UUID.class, UUID.class})
     public static JSONObject check(JSON data, String ms) {
         UUID source = data.getUUID("source");
         UUID destination = data.getUUID("destination");
@@ -109,9 +114,10 @@ public class NetworkEndpoint {
     }
 
 
-    @UserEndpoint(path = {"members"}, keys = {"uuid"}, types = {String.class})
+    @Coalesced(perOrigin = true)
+    @UserEndpoint(path = {"members"}, keys = {"uuid"}, types = {UUID.class})
     public static JSONObject members(JSON data, UUID user) {
-        UUID uuid = UUID.fromString((String) data.get("uuid"));
+        UUID uuid = data.getUUID("uuid");
 
         Network network = Network.get(uuid);
         if (network == null || !Device.checkPermissions(network.getOwner(), user)) {
@@ -128,7 +134,8 @@ public class NetworkEndpoint {
         return simple("members", jsonMembers);
     }
 
-    @MicroServiceEndpoint(path = {"delete_user"}, keys = {"user_uuid"}, types = {String.class})
+    @MicroServiceEndpoint(path = {"delete_user"}, keys = {"user_uuid"}, types = {UUID.class}, maxConcurrent = 2,
+            maxQueued = 64)
     public static JSONObject deleteUser(JSON data, String ms) {
         UUID user = data.getUUID("user_uuid");
 
@@ -18,7 +18,7 @@ import static net.cryptic_game.microservice.utils.JSONBuilder.simple;
 
 public class NetworkMemberEndpoint {
 
-    @UserEndpoint(path = {"member"}, keys = {"device"}, types = {String.class})
+    @UserEndpoint(path = {"member"}, keys = {"device"}, types = {UUID.class})
     public static JSONObject getAll(JSON data, UUID user) {
         UUID device = data.getUUID("device");
 
@@ -36,7 +36,7 @@ public class NetworkMemberEndpoint {
         return simple("networks", jsonNetworks);
     }
 
-    @UserEndpoint(path = {"request"}, keys = {"uuid", "device"}, types = {String.class, String.class})
+    @UserEndpoint(path = {"request"}, keys = {"uuid", "device"}, types = {UUID.class, UUID.class})
     public static JSONObject request(JSON data, UUID user) {
         UUID uuid = data.getUUID("uuid");
         UUID device = data.getUUID("device");
@@ -79,7 +79,7 @@ public class NetworkMemberEndpoint {
         }
     }
 
-    @UserEndpoint(path = {"invitations"}, keys = {"device"}, types = {String.class})
+    @UserEndpoint(path = {"invitations"}, keys = {"device"}, types = {UUID.class})
     public static JSONObject invitations(JSON data, UUID user) {
         UUID device = data.getUUID("device");
 
@@ -100,7 +100,7 @@ public class NetworkMemberEndpoint {
         return simple("invitations", invitations);
     }
 
-    @UserEndpoint(path = {"leave"}, keys = {"uuid", "device"}, types = {String.class, String.class})
+    @UserEndpoint(path = {"leave"}, keys = {"uuid", "device"}, types = {UUID.class, UUID.class})
     public static JSONObject leave(JSON data, UUID user) {
         UUID uuid = data.getUUID("uuid");
         UUID device = data.getUUID("device");
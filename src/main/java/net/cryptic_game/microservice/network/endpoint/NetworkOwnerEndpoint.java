@@ -18,7 +18,7 @@ import static net.cryptic_game.microservice.utils.JSONBuilder.simple;
 
 public class NetworkOwnerEndpoint {
 
-    @UserEndpoint(path = {"owner"}, keys = {"device"}, types = {String.class})
+    @UserEndpoint(path = {"owner"}, keys = {"device"}, types = {UUID.class})
     public static JSONObject getAll(JSON data, UUID user) {
         UUID device = data.getUUID("device");
 
@@ -36,7 +36,7 @@ public class NetworkOwnerEndpoint {
         return simple("networks", jsonNetworks);
     }
 
-    @UserEndpoint(path = {"invite"}, keys = {"uuid", "device"}, types = {String.class, String.class})
+    @UserEndpoint(path = {"invite"}, keys = {"uuid", "device"}, types = {UUID.class, UUID.class})
     public static JSONObject invite(JSON data, UUID user) {
         UUID uuid = data.getUUID("uuid");
         UUID device = data.getUUID("device");
@@ -74,7 +74,7 @@ public class NetworkOwnerEndpoint {
         return invitation.serialize();
     }
 
-    @UserEndpoint(path = {"accept"}, keys = {"uuid"}, types = {String.class})
+    @UserEndpoint(path = {"accept"}, keys = {"uuid"}, types = {UUID.class})
     public static JSONObject accept(JSON data, UUID user) {
         UUID uuid = data.getUUID("uuid");
 
@@ -111,7 +111,7 @@ public class NetworkOwnerEndpoint {
         return simple("result", true);
     }
 
-    @UserEndpoint(path = {"deny"}, keys = {"uuid"}, types = {String.class})
+    @UserEndpoint(path = {"deny"}, keys = {"uuid"}, types = {UUID.class})
     public static JSONObject deny(JSON data, UUID user) {
         UUID uuid = data.getUUID("uuid");
 
@@ -148,7 +148,7 @@ public class NetworkOwnerEndpoint {
         return simple("result", true);
     }
 
-    @UserEndpoint(path = {"requests"}, keys = {"uuid"}, types = {String.class})
+    @UserEndpoint(path = {"requests"}, keys = {"uuid"}, types = {UUID.class})
     public static JSONObject requests(JSON data, UUID user) {
         UUID uuid = data.getUUID("uuid");
 
@@ -171,7 +171,7 @@ public class NetworkOwnerEndpoint {
         return simple("requests", invitations);
     }
 
-    @UserEndpoint(path = {"invitations", "network"}, keys = {"uuid"}, types = {String.class})
+    @UserEndpoint(path = {"invitations", "network"}, keys = {"uuid"}, types = {UUID.class})
     public static JSONObject invitationsNetwork(JSON data, UUID user) {
         UUID uuid = data.getUUID("uuid");
 
@@ -194,7 +194,7 @@ public class NetworkOwnerEndpoint {
         return simple("invitations", invitations);
     }
 
-    @UserEndpoint(path = {"kick"}, keys = {"uuid", "device"}, types = {String.class, String.class})
+    @UserEndpoint(path = {"kick"}, keys = {"uuid", "device"}, types = {UUID.class, UUID.class})
     public static JSONObject kick(JSON data, UUID user) {
         UUID uuid = data.getUUID("uuid");
         UUID device = data.getUUID("device");
@@ -224,7 +224,7 @@ public class NetworkOwnerEndpoint {
         return simple("result", false);
     }
 
-    @UserEndpoint(path = {"delete"}, keys = {"uuid"}, types = {String.class})
+    @UserEndpoint(path = {"delete"}, keys = {"uuid"}, types = {UUID.class}, maxConcurrent = 4, maxQueued = 32)
     public static JSONObject delete(JSON data, UUID user) {
         UUID uuid = data.getUUID("uuid");
 
@@ -256,7 +256,7 @@ public class NetworkOwnerEndpoint {
         return simple("result", true);
     }
 
-    @UserEndpoint(path = {"revoke"}, keys = {"uuid"}, types = {String.class})
+    @UserEndpoint(path = {"revoke"}, keys = {"uuid"}, types = {UUID.class})
     public static JSONObject revoke(JSON data, UUID user) {
         UUID uuid = data.getUUID("uuid");
 
@@ -1,6 +1,7 @@
 package net.cryptic_game.microservice.network.model;
 
 import net.cryptic_game.microservice.MicroService;
+import net.cryptic_game.microservice.cache.ResponseCache;
 import net.cryptic_game.microservice.model.Model;
 import net.cryptic_game.microservice.sql.SqlService;
 import net.cryptic_game.microservice.utils.JSON;
@@ -169,6 +170,8 @@ public class Invitation extends Model {
         session.getTransaction().commit();
         session.close();
 
+        ResponseCache.invalidate(Invitation.class);
+
         return invitation;
     }
 }
@@ -1,6 +1,7 @@
 package net.cryptic_game.microservice.network.model;
 
 import net.cryptic_game.microservice.MicroService;
+import net.cryptic_game.microservice.cache.ResponseCache;
 import net.cryptic_game.microservice.model.Model;
 import net.cryptic_game.microservice.sql.SqlService;
 import net.cryptic_game.microservice.utils.JSON;
@@ -132,6 +133,8 @@ public class Member extends Model {
         session.getTransaction().commit();
         session.close();
 
+        ResponseCache.invalidate(Member.class);
+
         return member;
     }
 }
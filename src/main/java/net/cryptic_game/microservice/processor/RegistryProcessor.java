@@ -0,0 +1,133 @@
+package net.cryptic_game.microservice.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Generates the <code>GeneratedEndpointRegistry</code> (see {@link net.cryptic_game.microservice.endpoint.EndpointRegistry})
+ * listing all <code>@UserEndpoint</code> and <code>@MicroServiceEndpoint</code> methods and <code>@Entity</code> classes.
+ * <p>
+ * The annotations are referenced by name only, so this class can be compiled before the rest of the sources.
+ * The build does that in the <code>compile-processor</code> execution of the compiler plugin.
+ */
+@SupportedAnnotationTypes({RegistryProcessor.USER_ENDPOINT, RegistryProcessor.MICRO_SERVICE_ENDPOINT, RegistryProcessor.ENTITY})
+public class RegistryProcessor extends AbstractProcessor {
+
+    static final String USER_ENDPOINT = "net.cryptic_game.microservice.endpoint.UserEndpoint";
+    static final String MICRO_SERVICE_ENDPOINT = "net.cryptic_game.microservice.endpoint.MicroServiceEndpoint";
+    static final String ENTITY = "javax.persistence.Entity";
+
+    private static final String PACKAGE = "net.cryptic_game.microservice.endpoint";
+    private static final String CLASS = "GeneratedEndpointRegistry";
+
+    private final Set<String> userEndpoints = new TreeSet<>();
+    private final Set<String> microServiceEndpoints = new TreeSet<>();
+    private final Set<String> entities = new TreeSet<>();
+    private boolean generated;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        for (final TypeElement annotation : annotations) {
+            final String name = annotation.getQualifiedName().toString();
+
+            for (final Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                switch (name) {
+                    case USER_ENDPOINT:
+                        this.addMethod(this.userEndpoints, element);
+                        break;
+                    case MICRO_SERVICE_ENDPOINT:
+                        this.addMethod(this.microServiceEndpoints, element);
+                        break;
+                    case ENTITY:
+                        this.entities.add(((TypeElement) element).getQualifiedName() + ".class");
+                        break;
+                }
+            }
+        }
+
+        // all endpoints are in the sources of the first round, later rounds only see generated sources
+        if (!this.generated && !roundEnv.processingOver()) {
+            this.generated = true;
+            this.generate();
+        }
+
+        return false;
+    }
+
+    private void addMethod(final Set<String> methods, final Element element) {
+        if (element.getKind() != ElementKind.METHOD || !element.getModifiers().contains(Modifier.STATIC)
+                || !element.getModifiers().contains(Modifier.PUBLIC)) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Endpoints have to be public static methods.", element);
+            return;
+        }
+
+        final ExecutableElement method = (ExecutableElement) element;
+        final TypeElement type = (TypeElement) method.getEnclosingElement();
+        final List<String> parameters = method.getParameters().stream()
+                .map(VariableElement::asType)
+                .map(parameter -> this.processingEnv.getTypeUtils().erasure(parameter) + ".class")
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        parameters.add(0, "\"" + method.getSimpleName() + "\"");
+        parameters.add(0, type.getQualifiedName() + ".class");
+        methods.add("method(" + String.join(", ", parameters) + ")");
+    }
+
+    private void generate() {
+        try (PrintWriter out = new PrintWriter(this.processingEnv.getFiler().createSourceFile(PACKAGE + "." + CLASS).openWriter())) {
+            out.println("package " + PACKAGE + ";");
+            out.println();
+            out.println("import java.lang.reflect.Method;");
+            out.println("import java.util.List;");
+            out.println();
+            out.println("@javax.annotation.processing.Generated(\"" + RegistryProcessor.class.getName() + "\")");
+            out.println("public final class " + CLASS + " implements EndpointRegistry {");
+            out.println();
+            this.printGetter(out, "List<Method>", "getUserEndpoints", this.userEndpoints);
+            this.printGetter(out, "List<Method>", "getMicroServiceEndpoints", this.microServiceEndpoints);
+            this.printGetter(out, "List<Class<?>>", "getEntities", this.entities);
+            out.println("    private static Method method(final Class<?> type, final String name, final Class<?>... parameters) {");
+            out.println("        try {");
+            out.println("            return type.getMethod(name, parameters);");
+            out.println("        } catch (NoSuchMethodException e) {");
+            out.println("            throw new IllegalStateException(\"The endpoint registry is outdated.\", e);");
+            out.println("        }");
+            out.println("    }");
+            out.println("}");
+        } catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Could not generate the endpoint registry: " + e.getMessage());
+        }
+    }
+
+    private void printGetter(final PrintWriter out, final String type, final String name, final Set<String> values) {
+        out.println("    @Override");
+        out.println("    public " + type + " " + name + "() {");
+        out.println("        return List.of(" + (values.isEmpty() ? "" : "\n                ")
+                + String.join(",\n                ", values) + ");");
+        out.println("    }");
+        out.println();
+    }
+}
@@ -0,0 +1,31 @@
+package net.cryptic_game.microservice.socket;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+
+/**
+ * The buffer allocators a channel can use.
+ */
+public enum Allocator {
+
+    /**
+     * Reuses buffers from thread local arenas, less garbage but a larger resident heap.
+     */
+    POOLED(PooledByteBufAllocator.DEFAULT),
+
+    /**
+     * Allocates a new buffer each time, leaving the memory management to the garbage collector.
+     */
+    UNPOOLED(UnpooledByteBufAllocator.DEFAULT);
+
+    private final ByteBufAllocator allocator;
+
+    Allocator(final ByteBufAllocator allocator) {
+        this.allocator = allocator;
+    }
+
+    public ByteBufAllocator get() {
+        return this.allocator;
+    }
+}
@@ -0,0 +1,99 @@
+package net.cryptic_game.microservice.socket;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOutboundBuffer;
+import net.cryptic_game.microservice.metrics.Metrics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The registered connections to the mssocket. Outbound traffic is spread over them round-robin, skipping connections
+ * whose outbound buffer is above its high water mark. The bytes waiting in all outbound buffers are exported as
+ * <code>socket.pending_bytes</code>.
+ */
+public class ConnectionPool {
+
+    private final List<Channel> channels = new CopyOnWriteArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ConnectionPool() {
+        Metrics.gauge("socket.connections", this::size);
+        Metrics.gauge("socket.pending_bytes", this::getPendingBytes);
+    }
+
+    public void add(final Channel channel) {
+        this.channels.add(channel);
+    }
+
+    public void remove(final Channel channel) {
+        this.channels.remove(channel);
+    }
+
+    /**
+     * Picks the connection for the next outbound message, preferring writable ones.
+     *
+     * @return an active {@link Channel} or <code>null</code> if there is none
+     */
+    public Channel next() {
+        final Channel channel = this.nextWritable();
+        return channel != null ? channel : this.nextAny();
+    }
+
+    /**
+     * @return an active and writable {@link Channel} or <code>null</code> if there is none
+     */
+    public Channel nextWritable() {
+        final int size = this.channels.size();
+
+        for (int i = 0; i < size; i++) {
+            final Channel channel = this.nextAny();
+            if (channel == null) {
+                return null;
+            }
+            if (channel.isActive() && channel.isWritable()) {
+                return channel;
+            }
+        }
+
+        return null;
+    }
+
+    private Channel nextAny() {
+        while (true) {
+            final List<Channel> channels = this.channels;
+            final int size = channels.size();
+
+            if (size == 0) {
+                return null;
+            }
+
+            try {
+                return channels.get(Math.floorMod(this.next.getAndIncrement(), size));
+            } catch (IndexOutOfBoundsException ignored) {
+                // a channel was removed concurrently, try again
+            }
+        }
+    }
+
+    /**
+     * @return the number of bytes written to the connections but not yet passed to the kernel
+     */
+    public long getPendingBytes() {
+        long pending = 0;
+
+        for (final Channel channel : this.channels) {
+            final ChannelOutboundBuffer buffer = channel.unsafe().outboundBuffer();
+            if (buffer != null) {
+                pending += buffer.totalPendingWriteBytes();
+            }
+        }
+
+        return pending;
+    }
+
+    public int size() {
+        return this.channels.size();
+    }
+}
@@ -0,0 +1,111 @@
+package net.cryptic_game.microservice.socket;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.Future;
+import net.cryptic_game.microservice.metrics.Metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Consolidates the flushes of a channel, so many small messages go out with one syscall.
+ * <p>
+ * A requested flush is delayed by at most <code>maxDelay</code> microseconds (0 means until the event loop has run
+ * the tasks already queued). It happens right away once <code>maxBatchSize</code> messages are pending or the channel
+ * becomes unwritable, since the pending messages count towards the write buffer and only a flush can drain it.
+ * The number of flushes and flushed messages are exported as <code>socket.flushes</code> and
+ * <code>socket.flushed_messages</code>; their ratio is the average batch size.
+ */
+public class FlushBatchingHandler extends ChannelDuplexHandler {
+
+    private static final LongAdder FLUSHES = Metrics.counter("socket.flushes");
+    private static final LongAdder FLUSHED_MESSAGES = Metrics.counter("socket.flushed_messages");
+
+    private final int maxBatchSize;
+    private final long maxDelay;
+
+    private int pending;
+    private boolean flushRequested;
+    private Future<?> scheduledFlush;
+
+    /**
+     * @param maxBatchSize the number of pending messages which causes an immediate flush
+     * @param maxDelay     the maximum time in microseconds a flush is delayed
+     */
+    public FlushBatchingHandler(final int maxBatchSize, final long maxDelay) {
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelay = maxDelay;
+    }
+
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
+        this.pending++;
+        ctx.write(msg, promise);
+    }
+
+    @Override
+    public void flush(final ChannelHandlerContext ctx) {
+        if (this.pending >= this.maxBatchSize || !ctx.channel().isWritable()) {
+            this.flushNow(ctx);
+            return;
+        }
+
+        this.flushRequested = true;
+
+        if (this.scheduledFlush == null) {
+            final Runnable task = () -> {
+                this.scheduledFlush = null;
+                if (this.flushRequested) {
+                    this.flushNow(ctx);
+                }
+            };
+
+            this.scheduledFlush = this.maxDelay <= 0
+                    ? ctx.executor().submit(task)
+                    : ctx.executor().schedule(task, this.maxDelay, TimeUnit.MICROSECONDS);
+        }
+    }
+
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) {
+        if (this.flushRequested && !ctx.channel().isWritable()) {
+            this.flushNow(ctx);
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public void close(final ChannelHandlerContext ctx, final ChannelPromise promise) {
+        this.flushNow(ctx);
+        ctx.close(promise);
+    }
+
+    @Override
+    public void disconnect(final ChannelHandlerContext ctx, final ChannelPromise promise) {
+        this.flushNow(ctx);
+        ctx.disconnect(promise);
+    }
+
+    @Override
+    public void handlerRemoved(final ChannelHandlerContext ctx) {
+        this.flushNow(ctx);
+    }
+
+    private void flushNow(final ChannelHandlerContext ctx) {
+        if (this.scheduledFlush != null) {
+            this.scheduledFlush.cancel(false);
+            this.scheduledFlush = null;
+        }
+
+        this.flushRequested = false;
+
+        if (this.pending > 0) {
+            FLUSHES.increment();
+            FLUSHED_MESSAGES.add(this.pending);
+            this.pending = 0;
+            ctx.flush();
+        }
+    }
+}
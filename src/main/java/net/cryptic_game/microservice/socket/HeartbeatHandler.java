@@ -0,0 +1,154 @@
+package net.cryptic_game.microservice.socket;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.timeout.IdleState;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.AttributeKey;
+import net.cryptic_game.microservice.codec.InboundMessage;
+import net.cryptic_game.microservice.metrics.Metrics;
+import net.cryptic_game.microservice.utils.JSONBuilder;
+import org.json.simple.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps an idle connection to the mssocket alive and detects a dead one, driven by an {@link IdleStateHandler}.
+ * <p>
+ * The registration offers <code>"heartbeat": true</code> (see {@link #offer(JSONBuilder)}). Only if the mssocket
+ * answers with <code>{"action": "register", "heartbeat": true}</code>, pings are sent: if nothing was written for a
+ * while, a <code>{"action": "ping"}</code> is sent, which the mssocket answers with <code>{"action": "pong"}</code>;
+ * pings from the mssocket are answered the same way.
+ * <p>
+ * If nothing was read for a while, the connection is considered dead and closed, which fails its pending requests and
+ * reconnects. Such closes are counted as <code>socket.heartbeat_timeouts</code>. With heartbeats a healthy connection
+ * is never silent. Without them it may be, so it is only closed if a request (a message with a <code>timeout</code>)
+ * was written since the last read and nothing came back.
+ */
+@ChannelHandler.Sharable
+public class HeartbeatHandler extends ChannelDuplexHandler {
+
+    public static final String HEARTBEAT = "heartbeat";
+
+    private static final Logger LOG = LoggerFactory.getLogger(HeartbeatHandler.class);
+    private static final LongAdder TIMEOUTS = Metrics.counter("socket.heartbeat_timeouts");
+
+    private static final AttributeKey<Boolean> NEGOTIATED = AttributeKey.valueOf(HeartbeatHandler.class, "negotiated");
+    private static final AttributeKey<Boolean> AWAITING = AttributeKey.valueOf(HeartbeatHandler.class, "awaiting");
+
+    private static final String PING = "ping";
+    private static final String PONG = "pong";
+
+    private final int interval;
+    private final int readTimeout;
+
+    /**
+     * @param interval    the seconds without writes after which a ping is sent, 0 for no pings
+     * @param readTimeout the seconds without reads after which the connection is closed, 0 for never
+     */
+    public HeartbeatHandler(final int interval, final int readTimeout) {
+        this.interval = interval;
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Offers heartbeats in the registration, unless both pings and the read timeout are disabled.
+     *
+     * @param registration the registration
+     */
+    public void offer(final JSONBuilder registration) {
+        if (this.interval > 0 || this.readTimeout > 0) {
+            registration.add(HEARTBEAT, true);
+        }
+    }
+
+    @Override
+    public void handlerAdded(final ChannelHandlerContext ctx) {
+        if (ctx.channel().isActive()) {
+            this.install(ctx);
+        }
+    }
+
+    @Override
+    public void channelActive(final ChannelHandlerContext ctx) {
+        this.install(ctx);
+        ctx.fireChannelActive();
+    }
+
+    @Override
+    public void userEventTriggered(final ChannelHandlerContext ctx, final Object evt) throws Exception {
+        if (!(evt instanceof IdleStateEvent)) {
+            super.userEventTriggered(ctx, evt);
+            return;
+        }
+
+        final IdleState state = ((IdleStateEvent) evt).state();
+        if (state == IdleState.WRITER_IDLE) {
+            ctx.writeAndFlush(JSONBuilder.simple("action", PING));
+        } else if (state == IdleState.READER_IDLE && (ctx.channel().hasAttr(NEGOTIATED)
+                || Boolean.TRUE.equals(ctx.channel().attr(AWAITING).get()))) {
+            TIMEOUTS.increment();
+            LOG.warn("Nothing received from the mssocket on {} for too long, closing the connection.", ctx.channel());
+            ctx.close();
+        }
+    }
+
+    @Override
+    public void channelRead(final ChannelHandlerContext ctx, final Object msg) {
+        ctx.channel().attr(AWAITING).set(false);
+
+        if (msg instanceof InboundMessage) {
+            final JSONObject json = ((InboundMessage) msg).getJSON();
+            final Object action = json.get("action");
+
+            if (PING.equals(action)) {
+                ctx.writeAndFlush(JSONBuilder.simple("action", PONG));
+                return;
+            } else if (PONG.equals(action)) {
+                return;
+            } else if ("register".equals(action) && Boolean.TRUE.equals(json.get(HEARTBEAT))) {
+                this.start(ctx);
+            }
+        }
+
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
+        if (msg instanceof JSONObject && ((JSONObject) msg).containsKey("timeout")) {
+            ctx.channel().attr(AWAITING).set(true);
+        }
+
+        ctx.write(msg, promise);
+    }
+
+    /**
+     * Watches for silence from the start, as the mssocket may never negotiate heartbeats.
+     */
+    private void install(final ChannelHandlerContext ctx) {
+        if (this.readTimeout > 0 && ctx.pipeline().get(IdleStateHandler.class) == null) {
+            ctx.pipeline().addBefore(ctx.name(), "idle",
+                    new IdleStateHandler(this.readTimeout, 0, 0, TimeUnit.SECONDS));
+        }
+    }
+
+    private void start(final ChannelHandlerContext ctx) {
+        ctx.channel().attr(NEGOTIATED).set(true);
+
+        if (this.interval > 0) {
+            final IdleStateHandler idle = new IdleStateHandler(this.readTimeout, this.interval, 0, TimeUnit.SECONDS);
+            if (ctx.pipeline().get(IdleStateHandler.class) == null) {
+                ctx.pipeline().addBefore(ctx.name(), "idle", idle);
+            } else {
+                ctx.pipeline().replace(IdleStateHandler.class, "idle", idle);
+            }
+        }
+    }
+}
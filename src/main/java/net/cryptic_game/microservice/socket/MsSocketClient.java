@@ -0,0 +1,304 @@
+package net.cryptic_game.microservice.socket;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import net.cryptic_game.microservice.communication.ResponseCorrelator;
+import net.cryptic_game.microservice.metrics.Metrics;
+import net.cryptic_game.microservice.metrics.Timer;
+import net.cryptic_game.microservice.utils.SocketUtils;
+import org.json.simple.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps a number of registered connections to the mssocket open.
+ * <p>
+ * A lost connection is reconnected on the event loop with exponential backoff and jitter. Requests which were written
+ * to it, or whose write to it failed, are failed immediately. While no connection is up, outbound messages are kept
+ * in a bounded buffer and written once a connection is registered again. Requests which don't fit into the buffer are
+ * failed right away. Once the reconnection attempts of all connections are exhausted, the buffered requests are failed
+ * and new requests fail immediately until a connection is registered again; other messages are still buffered.
+ * <p>
+ * Pushes to users have a lower priority than responses and requests. While no connection is writable they are
+ * handled according to the {@link PushPolicy}; shed pushes are counted as <code>socket.pushes_shed</code>.
+ */
+public class MsSocketClient {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MsSocketClient.class);
+
+    private final Bootstrap bootstrap;
+    private final String host;
+    private final int port;
+    private final int connections;
+    private final JSONObject registration;
+    private final ResponseCorrelator responses;
+    private final long minReconnectDelay;
+    private final long maxReconnectDelay;
+    private final int reconnectAttempts;
+    private final boolean backpressure;
+    private final PushPolicy pushPolicy;
+
+    private final ConnectionPool pool = new ConnectionPool();
+    private final Queue<Outbound> buffer;
+    private volatile boolean unreachable;
+
+    private final LongAdder dropped = Metrics.counter("socket.buffer_dropped");
+    private final LongAdder shed = Metrics.counter("socket.pushes_shed");
+    private final Timer outage = Metrics.timer("socket.outage");
+
+    /**
+     * @param bootstrap         the configured {@link Bootstrap} to connect with
+     * @param host              the host of the mssocket
+     * @param port              the port of the mssocket
+     * @param connections       the number of connections to keep open
+     * @param registration      the message sent on each new connection
+     * @param responses         the requests waiting for a response
+     * @param minReconnectDelay the delay in milliseconds before the first reconnection attempt
+     * @param maxReconnectDelay the maximum delay in milliseconds between reconnection attempts
+     * @param reconnectAttempts the number of failed reconnection attempts after which requests are failed instead of
+     *                          buffered, reconnecting goes on
+     * @param bufferSize        the maximum number of messages buffered while no connection is up
+     * @param backpressure      whether reading from a connection is paused while it is unwritable
+     * @param pushPolicy        what happens to pushes while no connection is writable
+     */
+    public MsSocketClient(final Bootstrap bootstrap, final String host, final int port, final int connections,
+                          final JSONObject registration, final ResponseCorrelator responses,
+                          final long minReconnectDelay, final long maxReconnectDelay, final int reconnectAttempts,
+                          final int bufferSize, final boolean backpressure, final PushPolicy pushPolicy) {
+        this.bootstrap = bootstrap;
+        this.host = host;
+        this.port = port;
+        this.connections = connections;
+        this.registration = registration;
+        this.responses = responses;
+        this.minReconnectDelay = minReconnectDelay;
+        this.maxReconnectDelay = maxReconnectDelay;
+        this.reconnectAttempts = reconnectAttempts;
+        this.backpressure = backpressure;
+        this.pushPolicy = pushPolicy;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+
+        Metrics.gauge("socket.buffered", this.buffer::size);
+    }
+
+    public void start() {
+        for (int i = 0; i < this.connections; i++) {
+            this.connect(new Slot());
+        }
+    }
+
+    /**
+     * Sends a message on the next connection, or buffers it while there is none.
+     *
+     * @param message the message
+     */
+    public void send(final JSONObject message) {
+        this.send(message, null);
+    }
+
+    /**
+     * Sends a request on the next connection, or buffers it while there is none.
+     *
+     * @param message the message
+     * @param tag     the tag of the request registered at the {@link ResponseCorrelator}
+     */
+    public void send(final JSONObject message, final UUID tag) {
+        final Channel channel = this.pool.next();
+
+        if (channel != null) {
+            this.write(channel, new Outbound(message, tag));
+            return;
+        }
+
+        if (tag != null && this.unreachable) {
+            this.responses.fail(tag, new IOException("The mssocket is unreachable."));
+            return;
+        }
+
+        this.buffer(new Outbound(message, tag));
+    }
+
+    /**
+     * Sends a push to a user. While no connection is writable, the push is handled according to the {@link PushPolicy}.
+     *
+     * @param message the message
+     */
+    public void push(final JSONObject message) {
+        if (this.pool.size() > 0 && this.pool.nextWritable() == null) {
+            switch (this.pushPolicy) {
+                case DELAY:
+                    this.buffer(new Outbound(message, null));
+                    return;
+                case SHED:
+                    this.shed.increment();
+                    LOG.debug("No connection to the mssocket is writable, shedding push.");
+                    return;
+                case SEND:
+                    break;
+            }
+        }
+
+        this.send(message);
+    }
+
+    public ConnectionPool getPool() {
+        return this.pool;
+    }
+
+    private void connect(final Slot slot) {
+        this.bootstrap.connect(this.host, this.port).addListener((ChannelFuture future) -> {
+            if (!future.isSuccess()) {
+                LOG.warn("Unable to connect to the mssocket: {}", future.cause().toString());
+                if (slot.attempt >= this.reconnectAttempts && this.pool.size() == 0 && !this.unreachable) {
+                    this.unreachable = true;
+                    LOG.warn("The mssocket is unreachable, failing the buffered requests.");
+                    this.failBuffered();
+                }
+                this.reconnect(slot);
+                return;
+            }
+
+            final Channel channel = future.channel();
+            this.unreachable = false;
+
+            channel.pipeline().addFirst("writability", new WritabilityHandler(this.backpressure, this::replay));
+            SocketUtils.send(channel, this.registration);
+            this.pool.add(channel);
+
+            if (slot.disconnectedAt != 0) {
+                final long outage = System.nanoTime() - slot.disconnectedAt;
+                this.outage.record(outage);
+                LOG.info("Reconnected to the mssocket after {} ms.", TimeUnit.NANOSECONDS.toMillis(outage));
+            }
+            slot.attempt = 0;
+            slot.disconnectedAt = 0;
+
+            this.replay();
+
+            channel.closeFuture().addListener(closed -> {
+                this.pool.remove(channel);
+                slot.disconnectedAt = System.nanoTime();
+                this.responses.failAll(channel, new IOException("Connection to the mssocket was lost."));
+                this.reconnect(slot);
+            });
+        });
+    }
+
+    private void reconnect(final Slot slot) {
+        final long delay = this.nextDelay(slot.attempt++);
+
+        LOG.info("Reconnecting to the mssocket in {} ms...", delay);
+        this.bootstrap.config().group().schedule(() -> this.connect(slot), delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Doubles the delay with every attempt up to the maximum and picks a random value in its upper half,
+     * so many services don't reconnect in lockstep.
+     */
+    private long nextDelay(final int attempt) {
+        final long delay = Math.min(this.maxReconnectDelay, this.minReconnectDelay << Math.min(attempt, 20));
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    private void buffer(final Outbound outbound) {
+        if (!this.buffer.offer(outbound)) {
+            this.dropped.increment();
+            LOG.warn("The outbound buffer is full, dropping message.");
+            if (outbound.tag != null) {
+                this.responses.fail(outbound.tag, new IOException("Not connected to the mssocket."));
+            }
+            return;
+        }
+
+        // a connection may have been registered or become writable while the message was buffered
+        if (this.pool.nextWritable() != null) {
+            this.replay();
+        }
+    }
+
+    /**
+     * Fails the buffered requests, which won't be answered before their timeout anyway.
+     */
+    private void failBuffered() {
+        this.buffer.removeIf(outbound -> {
+            if (outbound.tag == null) {
+                return false;
+            }
+            this.responses.fail(outbound.tag, new IOException("The mssocket is unreachable."));
+            return true;
+        });
+    }
+
+    /**
+     * Writes the buffered messages as long as a connection is writable.
+     */
+    private void replay() {
+        Channel channel;
+        Outbound outbound;
+
+        while ((channel = this.pool.nextWritable()) != null && (outbound = this.buffer.poll()) != null) {
+            this.write(channel, outbound);
+        }
+    }
+
+    /**
+     * Writes a message to a connection. A connection which is already closing gets nothing, the message is buffered
+     * for the next one instead. If the connection is lost while the message is written, the request is failed,
+     * as it is unknown whether the mssocket received it.
+     * <p>
+     * The request is bound to the connection before it is written. If the connection is closed before the binding,
+     * {@link ResponseCorrelator#failAll} misses the request, but then the write fails and its listener fails it.
+     */
+    private void write(final Channel channel, final Outbound outbound) {
+        if (!channel.isActive()) {
+            this.buffer(outbound);
+            return;
+        }
+
+        if (outbound.tag != null) {
+            this.responses.bind(outbound.tag, channel);
+        }
+        channel.writeAndFlush(outbound.message).addListener((ChannelFutureListener) future -> {
+            if (future.isSuccess()) {
+                return;
+            }
+
+            if (outbound.tag != null) {
+                this.responses.fail(outbound.tag, new IOException("Could not write to the mssocket.", future.cause()));
+            } else {
+                LOG.warn("Could not write to the mssocket: {}", future.cause().toString());
+            }
+        });
+    }
+
+    private static class Outbound {
+
+        private final JSONObject message;
+        private final UUID tag;
+
+        private Outbound(final JSONObject message, final UUID tag) {
+            this.message = message;
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * The state of one of the connections across reconnects.
+     */
+    private static class Slot {
+
+        private volatile int attempt;
+        private volatile long disconnectedAt;
+
+    }
+}
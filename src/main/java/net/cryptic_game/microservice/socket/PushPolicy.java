@@ -0,0 +1,22 @@
+package net.cryptic_game.microservice.socket;
+
+/**
+ * What happens to pushes to users while no connection to the mssocket is writable.
+ */
+public enum PushPolicy {
+
+    /**
+     * Write the push anyway, growing the outbound buffer.
+     */
+    SEND,
+
+    /**
+     * Keep the push in the bounded outbound buffer until a connection is writable again.
+     */
+    DELAY,
+
+    /**
+     * Drop the push.
+     */
+    SHED
+}
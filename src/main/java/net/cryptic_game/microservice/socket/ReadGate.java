@@ -0,0 +1,59 @@
+package net.cryptic_game.microservice.socket;
+
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pauses reading from a channel (auto read off) as long as at least one holder wants it paused,
+ * so independent sources of backpressure don't resume each other's pauses.
+ */
+public final class ReadGate {
+
+    private static final AttributeKey<Set<Object>> HOLDERS = AttributeKey.valueOf(ReadGate.class, "holders");
+
+    private ReadGate() {
+    }
+
+    /**
+     * @param channel the channel
+     * @param holder  the source of the pause, e.g. the dispatcher which is full
+     */
+    public static void pause(final Channel channel, final Object holder) {
+        holders(channel).add(holder);
+        apply(channel);
+    }
+
+    /**
+     * @param channel the channel
+     * @param holder  the source of the pause passed to {@link #pause(Channel, Object)}
+     */
+    public static void resume(final Channel channel, final Object holder) {
+        holders(channel).remove(holder);
+        apply(channel);
+    }
+
+    private static Set<Object> holders(final Channel channel) {
+        final Set<Object> holders = channel.attr(HOLDERS).get();
+        if (holders != null) {
+            return holders;
+        }
+
+        final Set<Object> created = ConcurrentHashMap.newKeySet();
+        final Set<Object> existing = channel.attr(HOLDERS).setIfAbsent(created);
+        return existing != null ? existing : created;
+    }
+
+    /**
+     * Applies the current state on the event loop, so concurrent updates can't leave a stale auto read setting.
+     */
+    private static void apply(final Channel channel) {
+        if (channel.eventLoop().inEventLoop()) {
+            channel.config().setAutoRead(holders(channel).isEmpty());
+        } else {
+            channel.eventLoop().execute(() -> channel.config().setAutoRead(holders(channel).isEmpty()));
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package net.cryptic_game.microservice.socket;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.WriteBufferWaterMark;
+import net.cryptic_game.microservice.config.Config;
+import net.cryptic_game.microservice.config.DefaultConfig;
+
+/**
+ * The channel options of the connections to the mssocket.
+ */
+public class SocketOptions {
+
+    private final boolean tcpNoDelay;
+    private final boolean keepAlive;
+    private final int receiveBufferSize;
+    private final int sendBufferSize;
+    private final WriteBufferWaterMark writeBufferWaterMark;
+    private final Allocator allocator;
+
+    /**
+     * @param tcpNoDelay        whether small writes are sent at once instead of being coalesced by nagle's algorithm
+     * @param keepAlive         whether the kernel probes idle connections
+     * @param receiveBufferSize the size of the kernel's receive buffer in bytes, 0 for the system default
+     * @param sendBufferSize    the size of the kernel's send buffer in bytes, 0 for the system default
+     * @param lowWaterMark      the pending outbound bytes below which an unwritable channel is writable again
+     * @param highWaterMark     the pending outbound bytes above which a channel is unwritable
+     * @param allocator         the allocator of the channel's buffers
+     */
+    public SocketOptions(final boolean tcpNoDelay, final boolean keepAlive, final int receiveBufferSize,
+                         final int sendBufferSize, final int lowWaterMark, final int highWaterMark,
+                         final Allocator allocator) {
+        this.tcpNoDelay = tcpNoDelay;
+        this.keepAlive = keepAlive;
+        this.receiveBufferSize = receiveBufferSize;
+        this.sendBufferSize = sendBufferSize;
+        this.writeBufferWaterMark = new WriteBufferWaterMark(lowWaterMark, highWaterMark);
+        this.allocator = allocator;
+    }
+
+    public static SocketOptions fromConfig() {
+        return new SocketOptions(
+                Config.getBoolean(DefaultConfig.SOCKET_TCP_NODELAY),
+                Config.getBoolean(DefaultConfig.SOCKET_KEEPALIVE),
+                Config.getInteger(DefaultConfig.SOCKET_RECEIVE_BUFFER_SIZE),
+                Config.getInteger(DefaultConfig.SOCKET_SEND_BUFFER_SIZE),
+                Config.getInteger(DefaultConfig.SOCKET_WRITE_BUFFER_LOW_WATER_MARK),
+                Config.getInteger(DefaultConfig.SOCKET_WRITE_BUFFER_HIGH_WATER_MARK),
+                Allocator.valueOf(Config.get(DefaultConfig.SOCKET_ALLOCATOR).toUpperCase()));
+    }
+
+    public Bootstrap apply(final Bootstrap bootstrap) {
+        bootstrap.option(ChannelOption.TCP_NODELAY, this.tcpNoDelay)
+                .option(ChannelOption.SO_KEEPALIVE, this.keepAlive)
+                .option(ChannelOption.WRITE_BUFFER_WATER_MARK, this.writeBufferWaterMark)
+                .option(ChannelOption.ALLOCATOR, this.allocator.get());
+
+        if (this.receiveBufferSize > 0) {
+            bootstrap.option(ChannelOption.SO_RCVBUF, this.receiveBufferSize);
+        }
+        if (this.sendBufferSize > 0) {
+            bootstrap.option(ChannelOption.SO_SNDBUF, this.sendBufferSize);
+        }
+
+        return bootstrap;
+    }
+
+    public WriteBufferWaterMark getWriteBufferWaterMark() {
+        return this.writeBufferWaterMark;
+    }
+
+    @Override
+    public String toString() {
+        return "tcpNoDelay=" + this.tcpNoDelay
+                + ", keepAlive=" + this.keepAlive
+                + ", receiveBufferSize=" + (this.receiveBufferSize > 0 ? this.receiveBufferSize : "default")
+                + ", sendBufferSize=" + (this.sendBufferSize > 0 ? this.sendBufferSize : "default")
+                + ", writeBufferWaterMark=" + this.writeBufferWaterMark.low() + "-" + this.writeBufferWaterMark.high()
+                + ", allocator=" + this.allocator;
+    }
+}
@@ -0,0 +1,132 @@
+package net.cryptic_game.microservice.socket;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.incubator.channel.uring.IOUring;
+import io.netty.incubator.channel.uring.IOUringEventLoopGroup;
+import io.netty.incubator.channel.uring.IOUringServerSocketChannel;
+import io.netty.incubator.channel.uring.IOUringSocketChannel;
+import org.slf4j.LoggerFactory;
+
+import java.util.function.Predicate;
+
+/**
+ * The socket implementations netty can use, ordered from the most to the least efficient.
+ */
+public enum Transport {
+
+    IO_URING {
+        @Override
+        public boolean isAvailable() {
+            return IOUring.isAvailable();
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(final int threads) {
+            return new IOUringEventLoopGroup(threads);
+        }
+
+        @Override
+        public Class<? extends SocketChannel> getSocketChannel() {
+            return IOUringSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends ServerSocketChannel> getServerSocketChannel() {
+            return IOUringServerSocketChannel.class;
+        }
+    },
+
+    EPOLL {
+        @Override
+        public boolean isAvailable() {
+            return Epoll.isAvailable();
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(final int threads) {
+            return new EpollEventLoopGroup(threads);
+        }
+
+        @Override
+        public Class<? extends SocketChannel> getSocketChannel() {
+            return EpollSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends ServerSocketChannel> getServerSocketChannel() {
+            return EpollServerSocketChannel.class;
+        }
+    },
+
+    NIO {
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public EventLoopGroup newEventLoopGroup(final int threads) {
+            return new NioEventLoopGroup(threads);
+        }
+
+        @Override
+        public Class<? extends SocketChannel> getSocketChannel() {
+            return NioSocketChannel.class;
+        }
+
+        @Override
+        public Class<? extends ServerSocketChannel> getServerSocketChannel() {
+            return NioServerSocketChannel.class;
+        }
+    };
+
+    /**
+     * @return whether the native parts of this transport can be loaded on this system
+     */
+    public abstract boolean isAvailable();
+
+    /**
+     * @param threads the number of event loops, 0 for netty's default
+     * @return a new group of event loops for this transport
+     */
+    public abstract EventLoopGroup newEventLoopGroup(int threads);
+
+    public abstract Class<? extends SocketChannel> getSocketChannel();
+
+    public abstract Class<? extends ServerSocketChannel> getServerSocketChannel();
+
+    /**
+     * Picks the preferred transport or, if it is not available, the next available one in declaration order.
+     *
+     * @param preferred the configured transport
+     * @return the transport to use
+     */
+    public static Transport select(final Transport preferred) {
+        return select(preferred, Transport::isAvailable);
+    }
+
+    static Transport select(final Transport preferred, final Predicate<Transport> available) {
+        final Transport[] transports = values();
+
+        for (int i = preferred.ordinal(); i < transports.length; i++) {
+            final Transport transport = transports[i];
+            if (available.test(transport)) {
+                if (transport != preferred) {
+                    LoggerFactory.getLogger(Transport.class).warn("Transport {} is not available, falling back to {}.", preferred, transport);
+                }
+                return transport;
+            }
+        }
+
+        return NIO;
+    }
+}
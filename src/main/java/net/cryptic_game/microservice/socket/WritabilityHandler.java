@@ -0,0 +1,53 @@
+package net.cryptic_game.microservice.socket;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import net.cryptic_game.microservice.metrics.Metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reacts to the outbound buffer of a connection crossing its water marks.
+ * <p>
+ * With backpressure enabled, no new messages are read from the connection while it is unwritable, so no new work is
+ * dispatched whose responses would grow the buffer further. Unlike a full dispatch queue this pause ends on its own
+ * once the mssocket has read the pending bytes. How often connections turned unwritable is exported as
+ * <code>socket.unwritable</code>.
+ * <p>
+ * Note that a paused connection does not deliver the responses workers are waiting for either. If the mssocket pauses
+ * reading the same way, both sides can wait for each other until the requests time out, so backpressure is disabled by
+ * default, like the backpressure of the {@link net.cryptic_game.microservice.dispatch.Dispatcher}.
+ */
+public class WritabilityHandler extends ChannelInboundHandlerAdapter {
+
+    private static final LongAdder UNWRITABLE = Metrics.counter("socket.unwritable");
+
+    private final boolean backpressure;
+    private final Runnable onWritable;
+
+    /**
+     * @param backpressure whether reading is paused while the connection is unwritable
+     * @param onWritable   called once the connection is writable again
+     */
+    public WritabilityHandler(final boolean backpressure, final Runnable onWritable) {
+        this.backpressure = backpressure;
+        this.onWritable = onWritable;
+    }
+
+    @Override
+    public void channelWritabilityChanged(final ChannelHandlerContext ctx) {
+        if (ctx.channel().isWritable()) {
+            if (this.backpressure) {
+                ReadGate.resume(ctx.channel(), this);
+            }
+            this.onWritable.run();
+        } else {
+            UNWRITABLE.increment();
+            if (this.backpressure) {
+                ReadGate.pause(ctx.channel(), this);
+            }
+        }
+
+        ctx.fireChannelWritabilityChanged();
+    }
+}
@@ -1,5 +1,7 @@
 package net.cryptic_game.microservice.sql;
 
+import net.cryptic_game.microservice.communication.Deadline;
+import net.cryptic_game.microservice.communication.DeadlineExceededException;
 import net.cryptic_game.microservice.config.Config;
 import net.cryptic_game.microservice.config.DefaultConfig;
 import org.hibernate.Session;
@@ -48,7 +50,14 @@ public class SqlService {
         }
     }
 
+    /**
+     * Opening the first session of a request {@link Deadline#begin() begins} it, it isn't aborted by its deadline
+     * afterwards.
+     *
+     * @throws DeadlineExceededException if the deadline of the request being handled passed before its first session
+     */
     public Session openSession() {
+        Deadline.begin();
         return this.sessionFactory.openSession();
     }
 
@@ -16,29 +16,28 @@ public class JSON {
         return get(key, String.class);
     }
 
+    /**
+     * Parameters declared as {@link UUID} were already converted when the request was bound.
+     */
     public <T extends UUID> UUID getUUID(String key) {
-        String value = get(key, String.class);
+        Object value = obj.get(key);
 
-        if (value == null) {
+        if (value instanceof UUID) {
+            return (UUID) value;
+        } else if (!(value instanceof String)) {
             return null;
         }
 
         try {
-            return UUID.fromString(value);
+            return UUID.fromString((String) value);
         } catch (IllegalArgumentException | NullPointerException ignored) {
             return null;
         }
     }
 
     public <T> T get(String key, Class<? extends T> type) {
-        if (obj.containsKey(key) && type.isInstance(obj.get(key))) {
-            try {
-                return type.cast(obj.get(key));
-            } catch (ClassCastException ignored) {
-            }
-        }
-
-        return null;
+        Object value = obj.get(key);
+        return type.isInstance(value) ? type.cast(value) : null;
     }
 
     public JSONObject getJSONObject() {
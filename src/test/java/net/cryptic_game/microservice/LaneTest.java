@@ -0,0 +1,65 @@
+package net.cryptic_game.microservice;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import net.cryptic_game.microservice.dispatch.DispatchMode;
+import net.cryptic_game.microservice.dispatch.Dispatcher;
+import net.cryptic_game.microservice.dispatch.RejectionPolicy;
+import net.cryptic_game.microservice.endpoint.Endpoint;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LaneTest {
+
+    private final Map<String, Dispatcher> lanes = new HashMap<>();
+
+    public LaneTest() {
+        for (String lane : new String[]{"user", "ms", "reports"}) {
+            lanes.put(lane, new Dispatcher("test.lane." + lane, DispatchMode.PLATFORM, 1, 1,
+                    RejectionPolicy.ABORT, false));
+        }
+    }
+
+    @Test
+    public void testEndpointRunsOnItsOwnLane() throws Exception {
+        assertTrue(threadOf(endpoint(MicroService.lane("reports", "user")), "user").startsWith("test.lane.reports"));
+        assertTrue(threadOf(endpoint(MicroService.lane("reports", "ms")), "ms").startsWith("test.lane.reports"));
+    }
+
+    @Test
+    public void testEndpointWithoutLaneRunsOnTheLaneOfItsOrigin() throws Exception {
+        assertTrue(threadOf(endpoint(MicroService.lane("", "user")), "user").startsWith("test.lane.user"));
+        assertTrue(threadOf(endpoint(MicroService.lane("", "ms")), "ms").startsWith("test.lane.ms"));
+    }
+
+    @Test
+    public void testUnknownEndpointRunsOnTheLaneOfItsOrigin() throws Exception {
+        assertTrue(threadOf(null, "user").startsWith("test.lane.user"));
+        assertTrue(threadOf(null, "ms").startsWith("test.lane.ms"));
+    }
+
+    @Test
+    public void testLaneDefaultsToTheOrigin() {
+        assertEquals("user", MicroService.lane("", "user"));
+        assertEquals("reports", MicroService.lane("reports", "user"));
+    }
+
+    private String threadOf(Endpoint<?> endpoint, String originLane) throws Exception {
+        CompletableFuture<String> thread = new CompletableFuture<>();
+
+        MicroService.laneOf(lanes, endpoint, originLane).dispatch(new EmbeddedChannel(),
+                () -> thread.complete(Thread.currentThread().getName()), () -> thread.complete("rejected"));
+
+        return thread.get(5, TimeUnit.SECONDS);
+    }
+
+    private static Endpoint<Object> endpoint(String lane) {
+        return new Endpoint<>(lane, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,166 @@
+package net.cryptic_game.microservice;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import net.cryptic_game.microservice.codec.FrameDecoder;
+import net.cryptic_game.microservice.codec.Framing;
+import net.cryptic_game.microservice.codec.FramingNegotiationHandler;
+import net.cryptic_game.microservice.codec.InboundMessage;
+import net.cryptic_game.microservice.error.ServerError;
+import net.cryptic_game.microservice.metrics.Metrics;
+import net.cryptic_game.microservice.utils.JSONBuilder;
+import net.cryptic_game.microservice.utils.SocketUtils;
+import org.json.simple.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class MicroServiceInitializerTest {
+
+    private final BlockingQueue<InboundMessage> received = new LinkedBlockingQueue<>();
+    private EventLoopGroup group;
+
+    @Before
+    public void setUp() {
+        group = new NioEventLoopGroup(1);
+    }
+
+    @After
+    public void tearDown() {
+        group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    @Test
+    public void testLengthFramingIsNegotiated() throws InterruptedException {
+        try (StandInMsSocket msSocket = new StandInMsSocket(true, false)) {
+            Channel channel = connect(msSocket, Framing.LENGTH, false);
+
+            assertEquals("register", msSocket.take().get("action"));
+            assertEquals("framing", msSocket.take().get("action"));
+            assertEquals(Framing.LENGTH, channel.pipeline().get(FrameDecoder.class).getFraming());
+            assertNotNull(channel.pipeline().get("length-prepender"));
+
+            exchange(msSocket, channel);
+        }
+    }
+
+    @Test
+    public void testJsonFramingIsKeptWithoutConfirmation() throws InterruptedException {
+        try (StandInMsSocket msSocket = new StandInMsSocket(false, false)) {
+            Channel channel = connect(msSocket, Framing.LENGTH, false);
+
+            assertEquals("register", msSocket.take().get("action"));
+
+            exchange(msSocket, channel);
+            assertEquals(Framing.JSON, channel.pipeline().get(FrameDecoder.class).getFraming());
+            assertNull(channel.pipeline().get("length-prepender"));
+        }
+    }
+
+    @Test
+    public void testJsonFramingIsKeptWithoutOffer() throws InterruptedException {
+        try (StandInMsSocket msSocket = new StandInMsSocket(true, false)) {
+            Channel channel = connect(msSocket, Framing.JSON, false);
+
+            assertEquals("register", msSocket.take().get("action"));
+
+            exchange(msSocket, channel);
+            assertEquals(Framing.JSON, channel.pipeline().get(FrameDecoder.class).getFraming());
+        }
+    }
+
+    @Test
+    public void testCompressionIsNegotiated() throws InterruptedException {
+        try (StandInMsSocket msSocket = new StandInMsSocket(true, true)) {
+            Channel channel = connect(msSocket, Framing.LENGTH, true);
+
+            assertEquals("register", msSocket.take().get("action"));
+            assertEquals("framing", msSocket.take().get("action"));
+
+            long saved = Metrics.counter("compression.bytes_saved").sum();
+            exchange(msSocket, channel);
+            assertTrue(Metrics.counter("compression.bytes_saved").sum() > saved);
+        }
+    }
+
+    @Test
+    public void testCompressionIsNotUsedWithoutConfirmation() throws InterruptedException {
+        try (StandInMsSocket msSocket = new StandInMsSocket(true, false)) {
+            Channel channel = connect(msSocket, Framing.LENGTH, true);
+
+            assertEquals("register", msSocket.take().get("action"));
+            assertEquals("framing", msSocket.take().get("action"));
+
+            long saved = Metrics.counter("compression.bytes_saved").sum();
+            exchange(msSocket, channel);
+            assertEquals(saved, Metrics.counter("compression.bytes_saved").sum());
+        }
+    }
+
+    private Channel connect(StandInMsSocket msSocket, Framing framing, boolean compression) throws InterruptedException {
+        Channel channel = new Bootstrap()
+                .group(group)
+                .channel(NioSocketChannel.class)
+                .handler(new MicroServiceInitializer(new SimpleChannelInboundHandler<InboundMessage>() {
+                    @Override
+                    protected void channelRead0(ChannelHandlerContext ctx, InboundMessage msg) {
+                        received.add(msg);
+                    }
+                }, framing, compression))
+                .connect("127.0.0.1", msSocket.getPort()).sync().channel();
+
+        JSONBuilder registration = JSONBuilder.anJSON().add("action", "register").add("name", "network");
+        if (framing != Framing.JSON) {
+            registration.add("framing", framing.toString());
+        }
+        if (compression) {
+            registration.add("compression", FramingNegotiationHandler.DEFLATE);
+        }
+        channel.writeAndFlush(registration.build());
+
+        return channel;
+    }
+
+    private void exchange(StandInMsSocket msSocket, Channel channel) throws InterruptedException {
+        UUID tag = UUID.randomUUID();
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            name.append("{\"}\\");
+        }
+
+        msSocket.send(JSONBuilder.anJSON()
+                .add("tag", tag.toString())
+                .add("endpoint", Arrays.asList("network", "get"))
+                .add("data", JSONBuilder.simple("name", name.toString()))
+                .build());
+
+        InboundMessage request = received.poll(5, TimeUnit.SECONDS);
+        assertNotNull(request);
+        assertEquals(tag, request.getTag());
+        assertEquals(name.toString(), request.getData().get("name"));
+
+        SocketUtils.send(channel, JSONBuilder.anJSON().add("tag", tag.toString()).add("data", request.getData()).build());
+        SocketUtils.sendError(channel, ServerError.UNKNOWN_SERVICE);
+
+        JSONObject response = msSocket.take();
+        assertEquals(tag.toString(), response.get("tag"));
+        assertEquals(name.toString(), ((JSONObject) response.get("data")).get("name"));
+        assertEquals(ServerError.UNKNOWN_SERVICE.getResponse(), msSocket.take());
+    }
+}
@@ -0,0 +1,68 @@
+package net.cryptic_game.microservice;
+
+import net.cryptic_game.microservice.communication.DeadlineExceededException;
+import net.cryptic_game.microservice.endpoint.EndpointInvoker;
+import net.cryptic_game.microservice.utils.JSON;
+import net.cryptic_game.microservice.utils.JSONBuilder;
+import org.json.simple.JSONObject;
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static net.cryptic_game.microservice.error.ServerError.INTERNAL_ERROR;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MicroServiceTest {
+
+    private static final String[] ENDPOINT = {"test", "async"};
+
+    @Test
+    public void testCompletedStageIsTheResponse() {
+        JSONObject response = JSONBuilder.simple("ok", true);
+        CompletableFuture<Object> stage = new CompletableFuture<>();
+
+        CompletionStage<JSONObject> answer = invoke((data, user) -> stage);
+        assertFalse(answer.toCompletableFuture().isDone());
+
+        stage.complete(response);
+        assertSame(response, answer.toCompletableFuture().join());
+    }
+
+    @Test
+    public void testFailedStageIsAnInternalError() {
+        CompletionStage<JSONObject> answer = invoke((data, user) ->
+                CompletableFuture.failedFuture(new IllegalStateException("test")));
+
+        assertSame(INTERNAL_ERROR.getResponse(), answer.toCompletableFuture().join());
+    }
+
+    @Test
+    public void testStageOfAnotherTypeIsAnInternalError() {
+        CompletionStage<JSONObject> answer = invoke((data, user) -> CompletableFuture.completedFuture("ok"));
+
+        assertSame(INTERNAL_ERROR.getResponse(), answer.toCompletableFuture().join());
+    }
+
+    @Test
+    public void testStageOfNothingIsAnEmptyResponse() {
+        CompletionStage<JSONObject> answer = invoke((data, user) -> CompletableFuture.completedFuture(null));
+
+        assertTrue(answer.toCompletableFuture().join().isEmpty());
+    }
+
+    @Test
+    public void testStageAbortedByItsDeadlineIsNotAnswered() {
+        CompletionStage<JSONObject> answer = invoke((data, user) ->
+                CompletableFuture.failedFuture(new DeadlineExceededException(0)));
+
+        assertTrue(answer.toCompletableFuture().isCompletedExceptionally());
+    }
+
+    private static CompletionStage<JSONObject> invoke(EndpointInvoker<UUID> invoker) {
+        return MicroService.invoke(ENDPOINT, invoker, new JSON(new JSONObject()), UUID.randomUUID());
+    }
+}
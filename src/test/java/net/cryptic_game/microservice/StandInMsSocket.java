@@ -0,0 +1,173 @@
+package net.cryptic_game.microservice;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.socket.SocketChannel;
+import net.cryptic_game.microservice.codec.FrameDecoder;
+import net.cryptic_game.microservice.codec.Framing;
+import net.cryptic_game.microservice.codec.FramingNegotiationHandler;
+import net.cryptic_game.microservice.codec.LengthFrameEncoder;
+import net.cryptic_game.microservice.socket.HeartbeatHandler;
+import net.cryptic_game.microservice.socket.Transport;
+import net.cryptic_game.microservice.utils.JSONBuilder;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A local stand-in for the mssocket which speaks both the JSON and the length-prefixed framing,
+ * optionally with deflated frames. If it accepts heartbeats, it answers pings with pongs.
+ * <p>
+ * In echo mode every frame containing a <code>tag</code> is sent back unchanged instead of being queued,
+ * so it arrives as the response to a request.
+ */
+public class StandInMsSocket implements AutoCloseable {
+
+    private final boolean lengthFraming;
+    private final boolean compression;
+    private final boolean echo;
+    private final boolean heartbeat;
+    private final EventLoopGroup group;
+    private final BlockingQueue<JSONObject> received = new LinkedBlockingQueue<>();
+    private final Channel server;
+    private volatile Channel client;
+
+    /**
+     * @param lengthFraming whether the length-prefixed framing is accepted when a client offers it
+     * @param compression   whether compression is accepted when a client offers it
+     */
+    public StandInMsSocket(final boolean lengthFraming, final boolean compression) throws InterruptedException {
+        this(Transport.NIO, lengthFraming, compression, false);
+    }
+
+    /**
+     * @param transport     the transport of the server socket
+     * @param lengthFraming whether the length-prefixed framing is accepted when a client offers it
+     * @param compression   whether compression is accepted when a client offers it
+     * @param echo          whether tagged frames are sent back
+     */
+    public StandInMsSocket(final Transport transport, final boolean lengthFraming, final boolean compression,
+                           final boolean echo) throws InterruptedException {
+        this(transport, lengthFraming, compression, echo, false);
+    }
+
+    /**
+     * @param transport     the transport of the server socket
+     * @param lengthFraming whether the length-prefixed framing is accepted when a client offers it
+     * @param compression   whether compression is accepted when a client offers it
+     * @param echo          whether tagged frames are sent back
+     * @param heartbeat     whether heartbeats are accepted when a client offers them
+     */
+    public StandInMsSocket(final Transport transport, final boolean lengthFraming, final boolean compression,
+                           final boolean echo, final boolean heartbeat) throws InterruptedException {
+        this.lengthFraming = lengthFraming;
+        this.compression = compression;
+        this.echo = echo;
+        this.heartbeat = heartbeat;
+        this.group = transport.newEventLoopGroup(1);
+        this.server = new ServerBootstrap()
+                .group(this.group)
+                .channel(transport.getServerSocketChannel())
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(final SocketChannel channel) {
+                        channel.pipeline().addLast("framer", new FrameDecoder(1048576));
+                        channel.pipeline().addLast("handler", new Handler());
+                    }
+                })
+                .bind("127.0.0.1", 0).sync().channel();
+    }
+
+    public int getPort() {
+        return ((InetSocketAddress) this.server.localAddress()).getPort();
+    }
+
+    /**
+     * @return the next message received from a client or <code>null</code> if none arrives within five seconds
+     */
+    public JSONObject take() throws InterruptedException {
+        return this.received.poll(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Sends a message to the client which connected last.
+     */
+    public void send(final JSONObject message) {
+        this.client.writeAndFlush(encode(message));
+    }
+
+    /**
+     * Closes the connection of the client which connected last.
+     */
+    public void disconnect() {
+        this.client.close().syncUninterruptibly();
+    }
+
+    @Override
+    public void close() {
+        this.group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    private static ByteBuf encode(final JSONObject message) {
+        return Unpooled.copiedBuffer(message.toJSONString(), StandardCharsets.UTF_8);
+    }
+
+    private class Handler extends SimpleChannelInboundHandler<ByteBuf> {
+
+        @Override
+        public void channelActive(final ChannelHandlerContext ctx) {
+            client = ctx.channel();
+        }
+
+        @Override
+        protected void channelRead0(final ChannelHandlerContext ctx, final ByteBuf frame) throws ParseException {
+            final JSONObject message = (JSONObject) new JSONParser().parse(frame.toString(StandardCharsets.UTF_8));
+
+            if (echo && message.containsKey("tag")) {
+                ctx.writeAndFlush(frame.retain());
+                return;
+            }
+            final Object framing = message.get("framing");
+            final boolean length = lengthFraming && Framing.LENGTH.toString().equals(framing);
+            final boolean heartbeats = heartbeat && Boolean.TRUE.equals(message.get(HeartbeatHandler.HEARTBEAT));
+
+            if ("register".equals(message.get("action")) && (length || heartbeats)) {
+                final JSONBuilder answer = JSONBuilder.anJSON().add("action", "register");
+                final boolean deflate = length && compression
+                        && FramingNegotiationHandler.DEFLATE.equals(message.get("compression"));
+                if (length) {
+                    answer.add("framing", framing);
+                }
+                if (deflate) {
+                    answer.add("compression", FramingNegotiationHandler.DEFLATE);
+                }
+                if (heartbeats) {
+                    answer.add(HeartbeatHandler.HEARTBEAT, true);
+                }
+
+                ctx.writeAndFlush(encode(answer.build()));
+                if (length) {
+                    ctx.pipeline().addFirst(new LengthFrameEncoder(deflate ? 1024 : -1));
+                }
+            } else if ("framing".equals(message.get("action"))) {
+                ctx.pipeline().get(FrameDecoder.class).setFraming(Framing.LENGTH);
+            } else if (heartbeat && "ping".equals(message.get("action"))) {
+                ctx.writeAndFlush(encode(JSONBuilder.simple("action", "pong")));
+            }
+
+            received.add(message);
+        }
+    }
+}
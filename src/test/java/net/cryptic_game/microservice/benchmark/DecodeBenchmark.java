@@ -0,0 +1,102 @@
+package net.cryptic_game.microservice.benchmark;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.cryptic_game.microservice.codec.InboundMessage;
+import net.cryptic_game.microservice.utils.JSONBuilder;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of an inbound frame: the former StringDecoder + JSONParser path against {@link InboundMessage#parse}.
+ * <p>
+ * Run with <code>-prof gc</code> to see the allocated bytes per message (<code>gc.alloc.rate.norm</code>):
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main DecodeBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DecodeBenchmark {
+
+    private ByteBuf request;
+    private ByteBuf response;
+
+    private static ByteBuf frame(final JSONObject message) {
+        return Unpooled.directBuffer().writeBytes(message.toJSONString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Setup
+    public void setUp() {
+        this.request = frame(JSONBuilder.anJSON()
+                .add("tag", UUID.randomUUID().toString())
+                .add("endpoint", Arrays.asList("invitations", "network"))
+                .add("user", UUID.randomUUID().toString())
+                .add("data", JSONBuilder.simple("uuid", UUID.randomUUID().toString()))
+                .build());
+
+        final List<JSONObject> networks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            networks.add(JSONBuilder.anJSON()
+                    .add("uuid", UUID.randomUUID().toString())
+                    .add("hidden", false)
+                    .add("owner", UUID.randomUUID().toString())
+                    .add("name", "network_" + i)
+                    .build());
+        }
+        this.response = frame(JSONBuilder.anJSON()
+                .add("tag", UUID.randomUUID().toString())
+                .add("data", JSONBuilder.simple("networks", networks))
+                .build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.request.release();
+        this.response.release();
+    }
+
+    @Benchmark
+    public Object stringDecoderRequest() throws ParseException {
+        return new JSONParser().parse(this.request.toString(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public InboundMessage byteBufDecoderRequest() {
+        return InboundMessage.parse(this.request);
+    }
+
+    @Benchmark
+    public Object stringDecoderLargeResponse() throws ParseException {
+        return new JSONParser().parse(this.response.toString(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public InboundMessage byteBufDecoderLargeResponse() {
+        return InboundMessage.parse(this.response);
+    }
+}
@@ -0,0 +1,68 @@
+package net.cryptic_game.microservice.benchmark;
+
+import net.cryptic_game.microservice.endpoint.EndpointInvoker;
+import net.cryptic_game.microservice.utils.JSON;
+import net.cryptic_game.microservice.utils.JSONBuilder;
+import org.json.simple.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calling an endpoint method: the former <code>Method.invoke(new Object(), args)</code> against an {@link EndpointInvoker}.
+ * <p>
+ * Run with <code>-prof gc</code> to see the allocated bytes per call (<code>gc.alloc.rate.norm</code>):
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main InvokerBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InvokerBenchmark {
+
+    private static final JSONObject RESPONSE = JSONBuilder.simple("ok", true);
+
+    private Method method;
+    private EndpointInvoker<UUID> invoker;
+    private JSON data;
+    private UUID user;
+
+    public static JSONObject endpoint(final JSON data, final UUID user) {
+        return RESPONSE;
+    }
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        this.method = InvokerBenchmark.class.getMethod("endpoint", JSON.class, UUID.class);
+        this.invoker = EndpointInvoker.of(this.method, UUID.class);
+        this.data = new JSON(JSONBuilder.simple("uuid", UUID.randomUUID().toString()));
+        this.user = UUID.randomUUID();
+    }
+
+    @Benchmark
+    public Object reflection() throws InvocationTargetException, IllegalAccessException {
+        return this.method.invoke(new Object(), this.data, this.user);
+    }
+
+    @Benchmark
+    public Object invoker() {
+        return this.invoker.invoke(this.data, this.user);
+    }
+}
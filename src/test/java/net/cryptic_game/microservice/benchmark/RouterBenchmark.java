@@ -0,0 +1,84 @@
+package net.cryptic_game.microservice.benchmark;
+
+import net.cryptic_game.microservice.endpoint.EndpointRegistry;
+import net.cryptic_game.microservice.endpoint.EndpointRouter;
+import net.cryptic_game.microservice.endpoint.UserEndpoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looking up the endpoint of a request: the former <code>containsKey</code> + <code>get</code> on a map keyed by
+ * <code>Arrays.asList(path)</code> against {@link EndpointRouter#resolve(String[])}, for all user endpoints.
+ * <p>
+ * Run with <code>-prof gc</code> to see the allocated bytes per lookup (<code>gc.alloc.rate.norm</code>):
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main RouterBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouterBenchmark {
+
+    private final Map<List<String>, Method> map = new HashMap<>();
+    private final EndpointRouter<Method> router = new EndpointRouter<>();
+    private String[][] paths;
+
+    @Setup
+    public void setUp() {
+        final List<Method> endpoints = EndpointRegistry.load().getUserEndpoints();
+
+        this.paths = new String[endpoints.size()][];
+        for (int i = 0; i < this.paths.length; i++) {
+            final Method method = endpoints.get(i);
+            final String[] path = method.getAnnotation(UserEndpoint.class).path();
+
+            this.map.put(Arrays.asList(path), method);
+            this.router.add(path, method);
+            // a request carries its own copies of the segments
+            this.paths[i] = Arrays.stream(path).map(String::new).toArray(String[]::new);
+        }
+    }
+
+    @Benchmark
+    public int map() {
+        int found = 0;
+        for (final String[] path : this.paths) {
+            final List<String> endpoint = Arrays.asList(path);
+            if (this.map.containsKey(endpoint) && this.map.get(endpoint) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int router() {
+        int found = 0;
+        for (final String[] path : this.paths) {
+            if (this.router.resolve(path) != null) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,136 @@
+package net.cryptic_game.microservice.benchmark;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.socket.SocketChannel;
+import net.cryptic_game.microservice.StandInMsSocket;
+import net.cryptic_game.microservice.codec.FrameDecoder;
+import net.cryptic_game.microservice.codec.InboundMessage;
+import net.cryptic_game.microservice.codec.JsonDecoder;
+import net.cryptic_game.microservice.codec.JsonEncoder;
+import net.cryptic_game.microservice.communication.ResponseCorrelator;
+import net.cryptic_game.microservice.socket.FlushBatchingHandler;
+import net.cryptic_game.microservice.socket.Transport;
+import net.cryptic_game.microservice.utils.JSONBuilder;
+import org.json.simple.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trips of a request through the client pipeline and an echoing {@link StandInMsSocket} for each
+ * {@link Transport}: <code>throughput</code> gives the messages per second, <code>latency</code> the percentiles
+ * (p0.99 in the JMH output).
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) org.openjdk.jmh.Main TransportBenchmark
+ * </pre>
+ * A transport which is not available on the machine fails its setup and is skipped by JMH.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class TransportBenchmark {
+
+    @Param({"IO_URING", "EPOLL", "NIO"})
+    private Transport transport;
+
+    private StandInMsSocket msSocket;
+    private EventLoopGroup group;
+    private ResponseCorrelator responses;
+    private Channel channel;
+    private JSONObject data;
+
+    @Setup
+    public void setUp() throws InterruptedException {
+        if (!this.transport.isAvailable()) {
+            throw new IllegalStateException(this.transport + " is not available.");
+        }
+
+        this.msSocket = new StandInMsSocket(this.transport, false, false, true);
+        this.group = this.transport.newEventLoopGroup(1);
+        this.responses = new ResponseCorrelator(5000);
+        this.data = JSONBuilder.anJSON()
+                .add("uuid", UUID.randomUUID().toString())
+                .add("name", "benchmark")
+                .build();
+
+        final JsonDecoder decoder = new JsonDecoder();
+        final JsonEncoder encoder = new JsonEncoder();
+        this.channel = new Bootstrap()
+                .group(this.group)
+                .channel(this.transport.getSocketChannel())
+                .handler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(final SocketChannel channel) {
+                        channel.pipeline().addLast(new FlushBatchingHandler(64, 0));
+                        channel.pipeline().addLast(new FrameDecoder(1048576));
+                        channel.pipeline().addLast(decoder);
+                        channel.pipeline().addLast(encoder);
+                        channel.pipeline().addLast(new SimpleChannelInboundHandler<InboundMessage>() {
+                            @Override
+                            protected void channelRead0(final ChannelHandlerContext ctx, final InboundMessage msg) {
+                                responses.complete(msg.getTag(), msg.getData());
+                            }
+                        });
+                    }
+                })
+                .connect("127.0.0.1", this.msSocket.getPort()).sync().channel();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (this.channel != null) {
+            this.channel.close().syncUninterruptibly();
+        }
+        if (this.group != null) {
+            this.group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+        if (this.msSocket != null) {
+            this.msSocket.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public JSONObject throughput() throws ExecutionException, InterruptedException {
+        return this.roundTrip();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public JSONObject latency() throws ExecutionException, InterruptedException {
+        return this.roundTrip();
+    }
+
+    private JSONObject roundTrip() throws ExecutionException, InterruptedException {
+        final UUID tag = UUID.randomUUID();
+        final CompletableFuture<JSONObject> response = this.responses.register(tag);
+
+        this.channel.writeAndFlush(JSONBuilder.anJSON().add("tag", tag.toString()).add("data", this.data).build());
+        return response.get();
+    }
+}
@@ -0,0 +1,85 @@
+package net.cryptic_game.microservice.cache;
+
+import net.cryptic_game.microservice.network.model.Member;
+import net.cryptic_game.microservice.network.model.Network;
+import net.cryptic_game.microservice.utils.JSONBuilder;
+import org.json.simple.JSONObject;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ResponseCacheTest {
+
+    private static final JSONObject RESPONSE = JSONBuilder.simple("name", "network");
+
+    private static ResponseCache cache(final String name, final long ttl, final int maxEntries) {
+        return new ResponseCache("test.cache." + name, new String[]{"name"}, ttl, TimeUnit.MILLISECONDS, maxEntries,
+                new Class<?>[]{Network.class});
+    }
+
+    @Test
+    public void testHitAndMiss() {
+        final ResponseCache cache = cache("hit", 60000, 16);
+        final Object key = cache.key(JSONBuilder.simple("name", "network"));
+
+        assertNull(cache.get(key));
+        cache.put(key, RESPONSE, cache.getGeneration());
+        assertSame(RESPONSE, cache.get(key));
+
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void testExpiry() throws InterruptedException {
+        final ResponseCache cache = cache("expiry", 10, 16);
+
+        cache.put("network", RESPONSE, cache.getGeneration());
+        Thread.sleep(20);
+
+        assertNull(cache.get("network"));
+        assertEquals(1, cache.getEvictions());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        final ResponseCache cache = cache("lru", 60000, 2);
+
+        cache.put("a", RESPONSE, cache.getGeneration());
+        cache.put("b", RESPONSE, cache.getGeneration());
+        cache.get("a");
+        cache.put("c", RESPONSE, cache.getGeneration());
+
+        assertSame(RESPONSE, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    public void testInvalidation() {
+        final ResponseCache cache = cache("invalidation", 60000, 16);
+
+        cache.put("network", RESPONSE, cache.getGeneration());
+        ResponseCache.invalidate(Member.class);
+        assertSame(RESPONSE, cache.get("network"));
+
+        ResponseCache.invalidate(Network.class);
+        assertNull(cache.get("network"));
+    }
+
+    @Test
+    public void testResponseComputedDuringInvalidationIsNotStored() {
+        final ResponseCache cache = cache("race", 60000, 16);
+
+        final long generation = cache.getGeneration();
+        ResponseCache.invalidate(Network.class);
+        cache.put("network", RESPONSE, generation);
+
+        assertNull(cache.get("network"));
+    }
+}
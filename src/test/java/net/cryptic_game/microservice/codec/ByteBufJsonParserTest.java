@@ -0,0 +1,120 @@
+package net.cryptic_game.microservice.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.CorruptedFrameException;
+import net.cryptic_game.microservice.error.ServerError;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ByteBufJsonParserTest {
+
+    @Test
+    public void testNumbers() {
+        assertEquals(42L, parse("42"));
+        assertEquals(-7L, parse("-7"));
+        assertEquals(Long.MAX_VALUE, parse(Long.toString(Long.MAX_VALUE)));
+        assertEquals(1.5, parse("1.5"));
+        assertEquals(1000.0, parse("1e3"));
+        assertEquals(-0.0025, parse("-2.5E-3"));
+        assertEquals(120.0, parse("1.2e+2"));
+    }
+
+    @Test
+    public void testLiteralsAndContainers() {
+        assertEquals(Boolean.TRUE, parse("true"));
+        assertEquals(Boolean.FALSE, parse("false"));
+        assertNull(parse("null"));
+
+        final JSONObject object = (JSONObject) parse(" { \"a\" : [1, 2.0, \"b\", {}, []], \"c\": null }\n");
+        final JSONArray array = (JSONArray) object.get("a");
+        assertEquals(5, array.size());
+        assertEquals(1L, array.get(0));
+        assertEquals(2.0, array.get(1));
+        assertEquals(new JSONObject(), array.get(3));
+        assertTrue(object.containsKey("c"));
+    }
+
+    @Test
+    public void testStrings() {
+        assertEquals("plain", parse("\"plain\""));
+        assertEquals("\"\\/\b\f\n\r\t", parse("\"\\\"\\\\\\/\\b\\f\\n\\r\\t\""));
+        assertEquals("caf\u00e9", parse("\"caf\\u00e9\""));
+        assertEquals("caf\u00e9 \u00fcber", parse("\"caf\u00e9 \\u00fcber\""));
+        assertEquals("\ud83d\ude00", parse("\"\\ud83d\\ude00\""));
+        assertEquals("\ud83d\ude00", parse("\"\ud83d\ude00\""));
+    }
+
+    @Test
+    public void testMalformedInput() {
+        for (final String json : new String[]{"", "{", "[1,]", "{\"a\":}", "{\"a\" 1}", "{a: 1}", "tru", "nul",
+                "\"open", "\"\\x\"", "\"\\u12g4\"", "\"\\u12", "1.2.3", "--1", "+1", "'a'"}) {
+            assertCorrupted(json);
+        }
+    }
+
+    @Test
+    public void testTrailingGarbage() {
+        for (final String json : new String[]{"{} x", "[1]]", "{}{}", "1 2", "true false"}) {
+            assertCorrupted(json);
+        }
+    }
+
+    @Test
+    public void testNesting() {
+        assertEquals(JSONArray.class, parse(nested(ByteBufJsonParser.MAX_DEPTH)).getClass());
+        assertCorrupted(nested(ByteBufJsonParser.MAX_DEPTH + 1));
+        assertCorrupted(nested(100000));
+    }
+
+    @Test
+    public void testDeeplyNestedFrameIsAnswered() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new FrameDecoder(1048576), new JsonDecoder());
+
+        channel.writeInbound(Unpooled.copiedBuffer(nested(100000), StandardCharsets.UTF_8));
+
+        final ByteBuf response = channel.readOutbound();
+        assertEquals(ServerError.UNSUPPORTED_FORMAT.getEncodedResponse(), response);
+        response.release();
+        assertNull(channel.readInbound());
+        channel.finishAndReleaseAll();
+    }
+
+    private static String nested(final int depth) {
+        final StringBuilder json = new StringBuilder(depth * 2);
+        for (int i = 0; i < depth; i++) {
+            json.append('[');
+        }
+        for (int i = 0; i < depth; i++) {
+            json.append(']');
+        }
+        return json.toString();
+    }
+
+    private static Object parse(final String json) {
+        final ByteBuf buf = Unpooled.copiedBuffer(json, StandardCharsets.UTF_8);
+        try {
+            return ByteBufJsonParser.parse(buf);
+        } finally {
+            buf.release();
+        }
+    }
+
+    private static void assertCorrupted(final String json) {
+        try {
+            parse(json);
+            fail("Parsed invalid JSON " + json);
+        } catch (CorruptedFrameException expected) {
+            // expected
+        }
+    }
+}
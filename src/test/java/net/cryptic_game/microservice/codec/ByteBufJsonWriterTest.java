@@ -0,0 +1,82 @@
+package net.cryptic_game.microservice.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.cryptic_game.microservice.utils.JSONBuilder;
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+
+public class ByteBufJsonWriterTest {
+
+    @Test
+    public void testStringsAreEscapedLikeJsonSimple() throws IOException {
+        assertSameAsJsonSimple("");
+        assertSameAsJsonSimple("plain");
+        assertSameAsJsonSimple("quote \" backslash \\ slash / tab \t newline \n return \r form feed \f backspace \b");
+        assertSameAsJsonSimple("control \u0000 \u001F delete \u007F \u0085 \u009F");
+        assertSameAsJsonSimple("punctuation     € ⃿");
+        assertSameAsJsonSimple("umlauts äöü, cjk 中文, emoji 😀 at the end 😀");
+    }
+
+    @Test
+    public void testValuesAreWrittenLikeJsonSimple() throws IOException {
+        assertSameAsJsonSimple(null);
+        assertSameAsJsonSimple(true);
+        assertSameAsJsonSimple(42L);
+        assertSameAsJsonSimple(7);
+        assertSameAsJsonSimple(1.5);
+        assertSameAsJsonSimple(Double.NaN);
+        assertSameAsJsonSimple(Float.POSITIVE_INFINITY);
+        assertSameAsJsonSimple(UUID.randomUUID());
+        assertSameAsJsonSimple(Arrays.asList(1L, "two", null));
+    }
+
+    @Test
+    public void testContainers() throws IOException {
+        final Map<Object, Object> map = new LinkedHashMap<>();
+        map.put("a", 1L);
+        map.put(null, "null key");
+        map.put(2, "number key");
+
+        final JSONArray array = new JSONArray();
+        array.add(JSONBuilder.simple("nested", "value"));
+        array.add(new JSONArray());
+        array.add(new JSONObject());
+
+        final JSONObject object = JSONBuilder.anJSON()
+                .add("map", map)
+                .add("array", array)
+                .add("uuid", UUID.randomUUID().toString())
+                .build();
+
+        assertSameAsJsonSimple(map);
+        assertSameAsJsonSimple(array);
+        assertSameAsJsonSimple(object);
+        assertEquals(array, ByteBufJsonParser.parse(Unpooled.copiedBuffer(write(array), StandardCharsets.UTF_8)));
+    }
+
+    private static void assertSameAsJsonSimple(final Object value) throws IOException {
+        assertEquals(JSONValue.toJSONString(value), write(value));
+    }
+
+    private static String write(final Object value) throws IOException {
+        final ByteBuf buf = Unpooled.buffer();
+        try {
+            ByteBufJsonWriter.write(value, buf);
+            return buf.toString(StandardCharsets.UTF_8);
+        } finally {
+            buf.release();
+        }
+    }
+}
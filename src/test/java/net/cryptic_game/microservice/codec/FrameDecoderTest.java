@@ -0,0 +1,67 @@
+package net.cryptic_game.microservice.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.TooLongFrameException;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+public class FrameDecoderTest {
+
+    @Test
+    public void testTooLongFrameIsDiscardedUpToItsLength() {
+        final FrameDecoder decoder = new FrameDecoder(16);
+        decoder.setFraming(Framing.LENGTH);
+        final EmbeddedChannel channel = new EmbeddedChannel(decoder);
+
+        // the body of the too long frame arrives in pieces and looks like length headers itself
+        final ByteBuf tooLong = Unpooled.buffer().writeInt(64);
+        for (int i = 0; i < 16; i++) {
+            tooLong.writeInt(8);
+        }
+
+        try {
+            channel.writeInbound(tooLong.retainedSlice(0, 20));
+            fail("Accepted a frame exceeding the maximum length.");
+        } catch (TooLongFrameException expected) {
+            // expected
+        }
+        assertNull(channel.readInbound());
+
+        channel.writeInbound(tooLong.slice(20, tooLong.readableBytes() - 20), frame("{\"a\":1}"));
+
+        assertFrame(channel, "{\"a\":1}");
+        assertNull(channel.readInbound());
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testJsonFrames() {
+        final EmbeddedChannel channel = new EmbeddedChannel(new FrameDecoder(1024));
+
+        channel.writeInbound(Unpooled.copiedBuffer(" {\"a\":\"}\\\"\"}\n{\"b\"", StandardCharsets.UTF_8));
+        channel.writeInbound(Unpooled.copiedBuffer(":[1]}", StandardCharsets.UTF_8));
+
+        assertFrame(channel, "{\"a\":\"}\\\"\"}");
+        assertFrame(channel, "{\"b\":[1]}");
+        assertNull(channel.readInbound());
+        channel.finishAndReleaseAll();
+    }
+
+    private static ByteBuf frame(final String json) {
+        final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return Unpooled.buffer().writeInt(bytes.length).writeBytes(bytes);
+    }
+
+    private static void assertFrame(final EmbeddedChannel channel, final String json) {
+        final ByteBuf frame = channel.readInbound();
+        assertEquals(json, frame.toString(StandardCharsets.UTF_8));
+        frame.release();
+    }
+}
@@ -0,0 +1,109 @@
+package net.cryptic_game.microservice.communication;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DeadlineTest {
+
+    @Test
+    public void testRemaining() {
+        assertEquals(Long.MAX_VALUE, Deadline.remaining(Deadline.NONE));
+        assertFalse(Deadline.isExpired(Deadline.NONE));
+        assertFalse(Deadline.isExpired(System.currentTimeMillis() + 10000));
+        assertTrue(Deadline.isExpired(System.currentTimeMillis() - 1));
+    }
+
+    @Test
+    public void testExpiredRequestIsDropped() {
+        final AtomicBoolean ran = new AtomicBoolean();
+        final long shed = Deadline.getShedCount();
+
+        assertFalse(Deadline.run(System.currentTimeMillis() - 1, () -> ran.set(true)));
+
+        assertFalse(ran.get());
+        assertEquals(shed + 1, Deadline.getShedCount());
+    }
+
+    @Test
+    public void testCallReturnsTheResult() {
+        final long deadline = System.currentTimeMillis() + 10000;
+
+        assertEquals(Long.valueOf(deadline), Deadline.call(deadline, Deadline::current));
+        assertNull(Deadline.call(System.currentTimeMillis() - 1, Deadline::current));
+    }
+
+    @Test
+    public void testDeadlineIsBoundWhileRunning() {
+        final long deadline = System.currentTimeMillis() + 10000;
+        final long inner = deadline + 10000;
+
+        assertTrue(Deadline.run(deadline, () -> {
+            assertEquals(deadline, Deadline.current());
+            Deadline.run(inner, () -> assertEquals(inner, Deadline.current()));
+            assertEquals(deadline, Deadline.current());
+            Deadline.check();
+        }));
+
+        assertEquals(Deadline.NONE, Deadline.current());
+        Deadline.check();
+    }
+
+    @Test
+    public void testCheckAbortsExpiredWork() {
+        final long deadline = System.currentTimeMillis() + 20;
+        final long shed = Deadline.getShedCount();
+
+        Deadline.run(deadline, () -> {
+            sleepUntil(deadline);
+            try {
+                Deadline.check();
+                fail("Expired work was not aborted.");
+            } catch (DeadlineExceededException expected) {
+                // expected
+            }
+        });
+
+        assertEquals(shed + 1, Deadline.getShedCount());
+    }
+
+    @Test
+    public void testBegunWorkIsNotAborted() {
+        final long deadline = System.currentTimeMillis() + 20;
+
+        Deadline.run(deadline, () -> {
+            Deadline.begin();
+            sleepUntil(deadline);
+
+            Deadline.check();
+            Deadline.begin();
+        });
+    }
+
+    @Test(expected = DeadlineExceededException.class)
+    public void testBeginAbortsExpiredWork() {
+        final long deadline = System.currentTimeMillis() + 20;
+
+        Deadline.run(deadline, () -> {
+            sleepUntil(deadline);
+            Deadline.begin();
+        });
+    }
+
+    private static void sleepUntil(final long deadline) {
+        while (!Deadline.isExpired(deadline)) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
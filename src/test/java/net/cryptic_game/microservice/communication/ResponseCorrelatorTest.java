@@ -0,0 +1,114 @@
+package net.cryptic_game.microservice.communication;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import net.cryptic_game.microservice.metrics.Metrics;
+import net.cryptic_game.microservice.utils.JSONBuilder;
+import org.json.simple.JSONObject;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ResponseCorrelatorTest {
+
+    @Test
+    public void testResponseCompletesRequest() throws Exception {
+        final ResponseCorrelator responses = new ResponseCorrelator(5000);
+        final UUID tag = UUID.randomUUID();
+        final long roundTrips = Metrics.timer("response.round_trip").getCount();
+
+        final CompletableFuture<JSONObject> future = responses.register(tag);
+        final JSONObject data = JSONBuilder.simple("ok", true);
+
+        assertTrue(responses.complete(tag, data));
+        assertSame(data, future.get(1, TimeUnit.SECONDS));
+        assertEquals(0, responses.getPending());
+        assertEquals(roundTrips + 1, Metrics.timer("response.round_trip").getCount());
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        final ResponseCorrelator responses = new ResponseCorrelator(5000);
+        final UUID tag = UUID.randomUUID();
+        final long roundTrips = Metrics.timer("response.round_trip").getCount();
+        final long timeouts = Metrics.counter("response.timeouts").sum();
+
+        final CompletableFuture<JSONObject> future = responses.register(tag, 50);
+
+        assertCause(TimeoutException.class, future);
+        assertEquals(0, responses.getPending());
+        assertEquals(timeouts + 1, Metrics.counter("response.timeouts").sum());
+        assertEquals(roundTrips, Metrics.timer("response.round_trip").getCount());
+    }
+
+    @Test
+    public void testLateResponseIsNotMatched() throws Exception {
+        final ResponseCorrelator responses = new ResponseCorrelator(50);
+        final UUID tag = UUID.randomUUID();
+
+        final CompletableFuture<JSONObject> future = responses.register(tag);
+        assertCause(TimeoutException.class, future);
+
+        assertFalse(responses.complete(tag, JSONBuilder.simple("ok", true)));
+        assertTrue(future.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testFail() throws Exception {
+        final ResponseCorrelator responses = new ResponseCorrelator(5000);
+        final UUID tag = UUID.randomUUID();
+        final long roundTrips = Metrics.timer("response.round_trip").getCount();
+
+        final CompletableFuture<JSONObject> future = responses.register(tag);
+        responses.fail(tag, new IOException("test"));
+
+        assertCause(IOException.class, future);
+        assertFalse(responses.complete(tag, JSONBuilder.simple("ok", true)));
+        assertEquals(roundTrips, Metrics.timer("response.round_trip").getCount());
+    }
+
+    @Test
+    public void testFailAllOnlyFailsRequestsOfTheLostConnection() throws Exception {
+        final ResponseCorrelator responses = new ResponseCorrelator(5000);
+        final EmbeddedChannel lost = new EmbeddedChannel();
+        final EmbeddedChannel other = new EmbeddedChannel();
+        final UUID first = UUID.randomUUID();
+        final UUID second = UUID.randomUUID();
+        final long failures = Metrics.counter("response.connection_lost").sum();
+
+        final CompletableFuture<JSONObject> lostFuture = responses.register(first);
+        final CompletableFuture<JSONObject> otherFuture = responses.register(second);
+        responses.bind(first, lost);
+        responses.bind(second, other);
+
+        responses.failAll(lost, new IOException("test"));
+
+        assertCause(IOException.class, lostFuture);
+        assertFalse(otherFuture.isDone());
+        assertEquals(1, responses.getPending());
+        assertEquals(failures + 1, Metrics.counter("response.connection_lost").sum());
+
+        assertTrue(responses.complete(second, new JSONObject()));
+        assertTrue(otherFuture.isDone());
+    }
+
+    private static void assertCause(final Class<? extends Throwable> type, final CompletableFuture<?> future)
+            throws InterruptedException, TimeoutException {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("The request was not failed.");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause().toString(), type.isInstance(e.getCause()));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package net.cryptic_game.microservice.dispatch;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BulkheadTest {
+
+    private static final Runnable NOT_REJECTED = () -> {
+    };
+
+    @Test
+    public void testLimits() throws InterruptedException {
+        final Dispatcher dispatcher = new Dispatcher("test.dispatch", DispatchMode.PLATFORM, 4, 16,
+                RejectionPolicy.ABORT, false);
+        final Bulkhead bulkhead = new Bulkhead("test.bulkhead", 1, 1);
+        final EmbeddedChannel channel = new EmbeddedChannel();
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(2);
+
+        assertTrue(bulkhead.submit(dispatcher, channel, () -> {
+            started.countDown();
+            await(release);
+            done.countDown();
+            return null;
+        }, NOT_REJECTED));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertTrue(bulkhead.submit(dispatcher, channel, () -> countDown(done), NOT_REJECTED));
+        assertEquals(1, bulkhead.getRunning());
+        assertEquals(1, bulkhead.getQueued());
+
+        assertFalse(bulkhead.submit(dispatcher, channel, () -> countDown(done), NOT_REJECTED));
+        assertEquals(1, bulkhead.getRejectedCount());
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(0, bulkhead.getQueued());
+    }
+
+    @Test
+    public void testAsyncResponseHoldsItsSlot() throws InterruptedException {
+        final Dispatcher dispatcher = new Dispatcher("test.dispatch", DispatchMode.PLATFORM, 4, 16,
+                RejectionPolicy.ABORT, false);
+        final Bulkhead bulkhead = new Bulkhead("test.bulkhead", 1, 1);
+        final EmbeddedChannel channel = new EmbeddedChannel();
+
+        final CompletableFuture<Void> response = new CompletableFuture<>();
+        final CountDownLatch returned = new CountDownLatch(1);
+        final CountDownLatch next = new CountDownLatch(1);
+
+        assertTrue(bulkhead.submit(dispatcher, channel, () -> {
+            returned.countDown();
+            return response;
+        }, NOT_REJECTED));
+        assertTrue(returned.await(5, TimeUnit.SECONDS));
+
+        assertTrue(bulkhead.submit(dispatcher, channel, () -> countDown(next), NOT_REJECTED));
+        assertFalse(next.await(100, TimeUnit.MILLISECONDS));
+        assertEquals(1, bulkhead.getRunning());
+        assertEquals(1, bulkhead.getQueued());
+
+        response.complete(null);
+        assertTrue(next.await(5, TimeUnit.SECONDS));
+        assertEquals(0, bulkhead.getQueued());
+    }
+
+    @Test
+    public void testFailingTaskReleasesItsSlot() throws InterruptedException {
+        final Dispatcher dispatcher = new Dispatcher("test.dispatch", DispatchMode.PLATFORM, 4, 16,
+                RejectionPolicy.ABORT, false);
+        final Bulkhead bulkhead = new Bulkhead("test.bulkhead", 1, 0);
+        final EmbeddedChannel channel = new EmbeddedChannel();
+
+        final CountDownLatch next = new CountDownLatch(1);
+
+        assertTrue(bulkhead.submit(dispatcher, channel, () -> {
+            throw new IllegalStateException("test");
+        }, NOT_REJECTED));
+
+        final long timeout = System.currentTimeMillis() + 5000;
+        while (bulkhead.getRunning() > 0 && System.currentTimeMillis() < timeout) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(bulkhead.submit(dispatcher, channel, () -> countDown(next), NOT_REJECTED));
+        assertTrue(next.await(5, TimeUnit.SECONDS));
+    }
+
+    private static CompletionStage<?> countDown(final CountDownLatch latch) {
+        latch.countDown();
+        return null;
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package net.cryptic_game.microservice.dispatch;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class DispatcherTest {
+
+    @Test
+    public void testRejectionIsAnswered() throws InterruptedException {
+        final Dispatcher dispatcher = new Dispatcher("test.dispatch.abort", DispatchMode.PLATFORM, 1, 0,
+                RejectionPolicy.ABORT, false);
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        final AtomicInteger answered = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+
+        assertTrue(dispatcher.dispatch(channel, () -> await(release), answered::incrementAndGet));
+        assertFalse(dispatcher.dispatch(channel, () -> {
+        }, answered::incrementAndGet));
+
+        assertEquals(1, answered.get());
+        assertEquals(1, dispatcher.getRejectedCount());
+        release.countDown();
+    }
+
+    @Test
+    public void testDiscardedMessageIsNotAnswered() {
+        final Dispatcher dispatcher = new Dispatcher("test.dispatch.discard", DispatchMode.PLATFORM, 1, 0,
+                RejectionPolicy.DISCARD, false);
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        final AtomicInteger answered = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+
+        assertTrue(dispatcher.dispatch(channel, () -> await(release), answered::incrementAndGet));
+        assertFalse(dispatcher.dispatch(channel, () -> {
+        }, answered::incrementAndGet));
+
+        assertEquals(0, answered.get());
+        assertEquals(1, dispatcher.getRejectedCount());
+        release.countDown();
+    }
+
+    @Test
+    public void testBackpressurePausesAndResumesReads() throws InterruptedException {
+        final Dispatcher dispatcher = new Dispatcher("test.dispatch.backpressure", DispatchMode.PLATFORM, 1, 1,
+                RejectionPolicy.ABORT, true);
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(2);
+        final Runnable task = () -> {
+            await(release);
+            done.countDown();
+        };
+
+        assertTrue(dispatcher.dispatch(channel, task, () -> {
+        }));
+        assertTrue(channel.config().isAutoRead());
+
+        assertTrue(dispatcher.dispatch(channel, task, () -> {
+        }));
+        assertFalse(channel.config().isAutoRead());
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        while (dispatcher.getInFlight() > 0) {
+            Thread.sleep(10);
+        }
+        assertTrue(channel.config().isAutoRead());
+    }
+
+    @Test
+    public void testVirtualThreadsAreLimitedByTheQueueSize() throws Exception {
+        assumeTrue("Virtual threads need Java 21", Runtime.version().feature() >= 21);
+
+        final Dispatcher dispatcher = new Dispatcher("test.dispatch.virtual", DispatchMode.VIRTUAL, 1, 2,
+                RejectionPolicy.ABORT, false);
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        final Method isVirtual = Thread.class.getMethod("isVirtual");
+        final AtomicInteger virtual = new AtomicInteger();
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(2);
+        final Runnable task = () -> {
+            try {
+                if ((Boolean) isVirtual.invoke(Thread.currentThread())) {
+                    virtual.incrementAndGet();
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+            await(release);
+            done.countDown();
+        };
+
+        assertTrue(dispatcher.dispatch(channel, task, () -> {
+        }));
+        assertTrue(dispatcher.dispatch(channel, task, () -> {
+        }));
+        assertFalse(dispatcher.dispatch(channel, task, () -> {
+        }));
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(2, virtual.get());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package net.cryptic_game.microservice.dispatch;
+
+import net.cryptic_game.microservice.communication.Deadline;
+import net.cryptic_game.microservice.communication.DeadlineExceededException;
+import net.cryptic_game.microservice.utils.JSONBuilder;
+import org.json.simple.JSONObject;
+import org.junit.Test;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class SingleFlightTest {
+
+    @Test
+    public void testIdenticalRequestsShareOneExecution() {
+        final SingleFlight singleFlight = new SingleFlight("test.coalesce.shared", new String[]{"uuid"}, false);
+        final CompletableFuture<JSONObject> execution = new CompletableFuture<>();
+        final AtomicInteger executions = new AtomicInteger();
+        final JSONObject data = JSONBuilder.simple("uuid", UUID.randomUUID());
+
+        final CompletionStage<JSONObject> first = singleFlight.execute(singleFlight.key(data, UUID.randomUUID()), () -> {
+            executions.incrementAndGet();
+            return execution;
+        });
+        final CompletionStage<JSONObject> second = singleFlight.execute(singleFlight.key(data, UUID.randomUUID()), () -> {
+            executions.incrementAndGet();
+            return execution;
+        });
+
+        final JSONObject response = JSONBuilder.simple("ok", true);
+        execution.complete(response);
+
+        assertSame(response, first.toCompletableFuture().join());
+        assertSame(response, second.toCompletableFuture().join());
+        assertEquals(1, executions.get());
+        assertEquals(1, singleFlight.getExecutions());
+        assertEquals(1, singleFlight.getCoalesced());
+    }
+
+    @Test
+    public void testCompletedExecutionIsNotShared() {
+        final SingleFlight singleFlight = new SingleFlight("test.coalesce.completed", new String[]{}, false);
+        final AtomicInteger executions = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            singleFlight.execute(singleFlight.key(new JSONObject(), "ms"), () -> {
+                executions.incrementAndGet();
+                return CompletableFuture.completedFuture(new JSONObject());
+            });
+        }
+
+        assertEquals(2, executions.get());
+        assertEquals(0, singleFlight.getCoalesced());
+    }
+
+    @Test
+    public void testFailureIsShared() {
+        final SingleFlight singleFlight = new SingleFlight("test.coalesce.failure", new String[]{}, false);
+        final CompletableFuture<JSONObject> execution = new CompletableFuture<>();
+
+        final CompletionStage<JSONObject> first = singleFlight.execute("", () -> execution);
+        final CompletionStage<JSONObject> second = singleFlight.execute("", () -> execution);
+        execution.completeExceptionally(new IllegalStateException());
+
+        assertTrue(first.toCompletableFuture().isCompletedExceptionally());
+        assertTrue(second.toCompletableFuture().isCompletedExceptionally());
+    }
+
+    @Test
+    public void testDeadlineAbortIsNotShared() {
+        final SingleFlight singleFlight = new SingleFlight("test.coalesce.deadline", new String[]{}, false);
+        final CompletableFuture<JSONObject> execution = new CompletableFuture<>();
+        final JSONObject response = JSONBuilder.simple("ok", true);
+        final long deadline = System.currentTimeMillis() + 10000;
+        final AtomicLong retriedWith = new AtomicLong();
+
+        final CompletionStage<JSONObject> first = singleFlight.execute("", () -> execution);
+        final CompletionStage<JSONObject> second = Deadline.call(deadline, () -> singleFlight.execute("", () -> {
+            retriedWith.set(Deadline.current());
+            return CompletableFuture.completedFuture(response);
+        }));
+        final CompletionStage<JSONObject> expired = Deadline.call(System.currentTimeMillis() + 20, () ->
+                singleFlight.execute("", () -> CompletableFuture.completedFuture(response)));
+
+        sleep(50);
+        execution.completeExceptionally(new CompletionException(new DeadlineExceededException(0)));
+
+        assertTrue(first.toCompletableFuture().isCompletedExceptionally());
+        assertSame(response, second.toCompletableFuture().join());
+        assertEquals(deadline, retriedWith.get());
+        assertTrue(expired.toCompletableFuture().isCompletedExceptionally());
+        assertEquals(2, singleFlight.getExecutions());
+    }
+
+    @Test
+    public void testPerOriginKeys() {
+        final SingleFlight singleFlight = new SingleFlight("test.coalesce.origin", new String[]{"uuid"}, true);
+        final JSONObject data = JSONBuilder.simple("uuid", UUID.randomUUID());
+        final UUID user = UUID.randomUUID();
+
+        assertEquals(singleFlight.key(data, user), singleFlight.key(data, user));
+        assertNotEquals(singleFlight.key(data, user), singleFlight.key(data, UUID.randomUUID()));
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
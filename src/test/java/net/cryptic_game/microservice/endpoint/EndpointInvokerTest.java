@@ -0,0 +1,95 @@
+package net.cryptic_game.microservice.endpoint;
+
+import net.cryptic_game.microservice.utils.JSON;
+import net.cryptic_game.microservice.utils.JSONBuilder;
+import org.json.simple.JSONObject;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class EndpointInvokerTest {
+
+    private static final CompletableFuture<JSONObject> STAGE = new CompletableFuture<>();
+
+    @Test
+    public void testUserEndpointGetsItsArguments() throws NoSuchMethodException {
+        EndpointInvoker<UUID> invoker = EndpointInvoker.of(method("user", UUID.class), UUID.class);
+        UUID user = UUID.randomUUID();
+        JSON data = new JSON(JSONBuilder.simple("name", "test"));
+
+        JSONObject response = (JSONObject) invoker.invoke(data, user);
+
+        assertEquals("test", response.get("name"));
+        assertEquals(user.toString(), response.get("origin"));
+    }
+
+    @Test
+    public void testMicroServiceEndpointGetsItsArguments() throws NoSuchMethodException {
+        EndpointInvoker<String> invoker = EndpointInvoker.of(method("microService", String.class), String.class);
+        JSON data = new JSON(JSONBuilder.simple("name", "test"));
+
+        JSONObject response = (JSONObject) invoker.invoke(data, "device");
+
+        assertEquals("test", response.get("name"));
+        assertEquals("device", response.get("origin"));
+    }
+
+    @Test
+    public void testStageIsReturnedAsIs() throws NoSuchMethodException {
+        EndpointInvoker<String> invoker = EndpointInvoker.of(method("async", String.class), String.class);
+
+        assertSame(STAGE, invoker.invoke(new JSON(new JSONObject()), "device"));
+    }
+
+    @Test
+    public void testExceptionIsNotWrapped() throws NoSuchMethodException {
+        EndpointInvoker<UUID> invoker = EndpointInvoker.of(method("failing", UUID.class), UUID.class);
+
+        try {
+            invoker.invoke(new JSON(new JSONObject()), UUID.randomUUID());
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("failing", e.getMessage());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWrongOriginIsRejected() throws NoSuchMethodException {
+        EndpointInvoker.of(method("user", UUID.class), String.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInstanceMethodIsRejected() throws NoSuchMethodException {
+        EndpointInvoker.of(method("instance", UUID.class), UUID.class);
+    }
+
+    public static JSONObject user(JSON data, UUID user) {
+        return JSONBuilder.anJSON().add("name", data.get("name")).add("origin", user.toString()).build();
+    }
+
+    public static JSONObject microService(JSON data, String ms) {
+        return JSONBuilder.anJSON().add("name", data.get("name")).add("origin", ms).build();
+    }
+
+    public static CompletableFuture<JSONObject> async(JSON data, String ms) {
+        return STAGE;
+    }
+
+    public static JSONObject failing(JSON data, UUID user) {
+        throw new IllegalStateException("failing");
+    }
+
+    public JSONObject instance(JSON data, UUID user) {
+        return new JSONObject();
+    }
+
+    private static Method method(String name, Class<?> origin) throws NoSuchMethodException {
+        return EndpointInvokerTest.class.getMethod(name, JSON.class, origin);
+    }
+}
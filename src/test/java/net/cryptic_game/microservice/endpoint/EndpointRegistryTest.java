@@ -0,0 +1,35 @@
+package net.cryptic_game.microservice.endpoint;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EndpointRegistryTest {
+
+    @Test
+    public void testGeneratedRegistryMatchesClasspath() {
+        final EndpointRegistry generated = EndpointRegistry.load();
+        final EndpointRegistry reflective = new ReflectiveEndpointRegistry("net.cryptic_game.microservice");
+
+        assertEquals(EndpointRegistry.GENERATED, generated.getClass().getName());
+        assertFalse(generated.getUserEndpoints().isEmpty());
+        assertEquals(new HashSet<>(reflective.getUserEndpoints()), new HashSet<>(generated.getUserEndpoints()));
+        assertEquals(new HashSet<>(reflective.getMicroServiceEndpoints()), new HashSet<>(generated.getMicroServiceEndpoints()));
+        assertEquals(new HashSet<>(reflective.getEntities()), new HashSet<>(generated.getEntities()));
+    }
+
+    @Test
+    public void testGeneratedEndpointsHaveInvokers() {
+        final EndpointRegistry registry = EndpointRegistry.load();
+
+        registry.getUserEndpoints().forEach(method -> assertTrue(method.isAnnotationPresent(UserEndpoint.class)));
+        registry.getMicroServiceEndpoints().forEach(method -> assertTrue(method.isAnnotationPresent(MicroServiceEndpoint.class)));
+        registry.getUserEndpoints().forEach(method -> EndpointInvoker.of(method, UUID.class));
+        registry.getMicroServiceEndpoints().forEach(method -> EndpointInvoker.of(method, String.class));
+    }
+}
@@ -0,0 +1,44 @@
+package net.cryptic_game.microservice.endpoint;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class EndpointRouterTest {
+
+    private EndpointRouter<String> router;
+
+    @Before
+    public void setUp() {
+        this.router = new EndpointRouter<>();
+        this.router.add(new String[]{"invitations"}, "invitations");
+        this.router.add(new String[]{"invitations", "network"}, "network invitations");
+        this.router.add(new String[]{"owner", "kick"}, "kick");
+    }
+
+    @Test
+    public void testResolve() {
+        assertEquals(3, this.router.size());
+        assertEquals("invitations", this.router.resolve(new String[]{"invitations"}));
+        assertEquals("network invitations", this.router.resolve(new String[]{"invitations", "network"}));
+        assertEquals("kick", this.router.resolve(new String[]{"owner", "kick"}));
+        assertNull(this.router.resolve(new String[]{"owner"}));
+        assertNull(this.router.resolve(new String[]{"owner", "kick", "now"}));
+        assertNull(this.router.resolve(new String[]{}));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDuplicatePath() {
+        this.router.add(new String[]{"owner", "kick"}, "kick again");
+    }
+
+    @Test
+    public void testDiagnose() {
+        assertEquals("Unknown endpoint [owner, ban], \"ban\" does not follow [owner], known are [kick].",
+                this.router.diagnose(new String[]{"owner", "ban"}));
+        assertEquals("Unknown endpoint [owner], it is only the beginning of [[owner, kick]].",
+                this.router.diagnose(new String[]{"owner"}));
+    }
+}
@@ -0,0 +1,104 @@
+package net.cryptic_game.microservice.endpoint;
+
+import net.cryptic_game.microservice.utils.JSON;
+import net.cryptic_game.microservice.utils.JSONBuilder;
+import org.json.simple.JSONObject;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ParameterBinderTest {
+
+    private final ParameterBinder binder = ParameterBinder.of(new String[]{"device", "name", "hidden", "count"},
+            new Class<?>[]{UUID.class, String.class, Boolean.class, int.class});
+
+    @Test
+    public void testBind() {
+        final UUID device = UUID.randomUUID();
+        final JSONObject data = JSONBuilder.anJSON()
+                .add("device", device.toString())
+                .add("name", "network")
+                .add("hidden", true)
+                .add("count", 3L)
+                .build();
+
+        final JSONObject bound = this.binder.bind(data);
+        assertEquals(device, bound.get("device"));
+        assertEquals(3, bound.get("count"));
+
+        final JSON json = new JSON(bound);
+        assertSame(bound.get("device"), json.getUUID("device"));
+        assertEquals("network", json.get("name"));
+        assertEquals(Boolean.TRUE, json.get("hidden", Boolean.class));
+    }
+
+    @Test
+    public void testDataOfTheRequestIsNotChanged() {
+        final UUID device = UUID.randomUUID();
+        final JSONObject data = JSONBuilder.anJSON()
+                .add("device", device.toString())
+                .add("name", "network")
+                .add("hidden", true)
+                .add("count", 3L)
+                .build();
+
+        assertNotSame(data, this.binder.bind(data));
+        assertEquals(device.toString(), data.get("device"));
+        assertEquals(3L, data.get("count"));
+    }
+
+    @Test
+    public void testDataWithoutConversionsIsNotCopied() {
+        final ParameterBinder strings = ParameterBinder.of(new String[]{"name"}, new Class<?>[]{String.class});
+        final JSONObject data = JSONBuilder.simple("name", "network");
+
+        assertSame(data, strings.bind(data));
+    }
+
+    @Test
+    public void testMissingParameter() {
+        final JSONObject data = JSONBuilder.anJSON()
+                .add("device", UUID.randomUUID().toString())
+                .add("hidden", true)
+                .add("count", 3L)
+                .build();
+
+        assertNull(this.binder.bind(data));
+    }
+
+    @Test
+    public void testInvalidParameter() {
+        final JSONObject invalidUUID = JSONBuilder.anJSON()
+                .add("device", "not a uuid")
+                .add("name", "network")
+                .add("hidden", true)
+                .add("count", 3L)
+                .build();
+        final JSONObject invalidBoolean = JSONBuilder.anJSON()
+                .add("device", UUID.randomUUID().toString())
+                .add("name", "network")
+                .add("hidden", "true")
+                .add("count", 3L)
+                .build();
+        final JSONObject tooLarge = JSONBuilder.anJSON()
+                .add("device", UUID.randomUUID().toString())
+                .add("name", "network")
+                .add("hidden", true)
+                .add("count", Long.MAX_VALUE)
+                .build();
+
+        assertNull(this.binder.bind(invalidUUID));
+        assertNull(this.binder.bind(invalidBoolean));
+        assertNull(this.binder.bind(tooLarge));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTypesDoNotMatchKeys() {
+        ParameterBinder.of(new String[]{"uuid", "device"}, new Class<?>[]{UUID.class});
+    }
+}
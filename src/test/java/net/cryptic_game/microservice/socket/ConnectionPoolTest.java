@@ -0,0 +1,95 @@
+package net.cryptic_game.microservice.socket;
+
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ConnectionPoolTest {
+
+    @Test
+    public void testEmptyPool() {
+        ConnectionPool pool = new ConnectionPool();
+
+        assertNull(pool.next());
+        assertNull(pool.nextWritable());
+    }
+
+    @Test
+    public void testChannelsAreUsedRoundRobin() {
+        ConnectionPool pool = new ConnectionPool();
+        List<Channel> channels = Arrays.asList(new EmbeddedChannel(), new EmbeddedChannel(), new EmbeddedChannel());
+        channels.forEach(pool::add);
+
+        List<Channel> picked = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            picked.add(pool.next());
+        }
+
+        assertEquals(new HashSet<>(channels), new HashSet<>(picked.subList(0, 3)));
+        assertEquals(picked.subList(0, 3), picked.subList(3, 6));
+    }
+
+    @Test
+    public void testUnwritableChannelsAreSkipped() {
+        ConnectionPool pool = new ConnectionPool();
+        EmbeddedChannel writable = new EmbeddedChannel();
+        EmbeddedChannel unwritable = new EmbeddedChannel();
+        pool.add(writable);
+        pool.add(unwritable);
+
+        unwritable.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+
+        for (int i = 0; i < 4; i++) {
+            assertSame(writable, pool.next());
+            assertSame(writable, pool.nextWritable());
+        }
+    }
+
+    @Test
+    public void testUnwritableChannelIsUsedIfThereIsNoOther() {
+        ConnectionPool pool = new ConnectionPool();
+        EmbeddedChannel unwritable = new EmbeddedChannel();
+        pool.add(unwritable);
+
+        unwritable.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+
+        assertNull(pool.nextWritable());
+        assertSame(unwritable, pool.next());
+    }
+
+    @Test
+    public void testClosedChannelIsNotUsed() {
+        ConnectionPool pool = new ConnectionPool();
+        EmbeddedChannel open = new EmbeddedChannel();
+        EmbeddedChannel closed = new EmbeddedChannel();
+        pool.add(open);
+        pool.add(closed);
+
+        closed.close();
+        for (int i = 0; i < 4; i++) {
+            assertSame(open, pool.nextWritable());
+        }
+
+        pool.remove(closed);
+        assertEquals(1, pool.size());
+        for (int i = 0; i < 4; i++) {
+            assertNotSame(closed, pool.next());
+        }
+
+        pool.remove(open);
+        assertEquals(0, pool.size());
+        assertNull(pool.next());
+        assertFalse(closed.isActive());
+    }
+}
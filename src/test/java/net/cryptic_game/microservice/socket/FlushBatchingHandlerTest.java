@@ -0,0 +1,124 @@
+package net.cryptic_game.microservice.socket;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ReferenceCountUtil;
+import net.cryptic_game.microservice.metrics.Metrics;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FlushBatchingHandlerTest {
+
+    @Test
+    public void testFlushesAreBatched() {
+        Recorder recorder = new Recorder();
+        EmbeddedChannel channel = new EmbeddedChannel(recorder, new FlushBatchingHandler(64, 0));
+        long flushes = Metrics.counter("socket.flushes").sum();
+        long flushedMessages = Metrics.counter("socket.flushed_messages").sum();
+
+        for (int i = 0; i < 10; i++) {
+            channel.writeAndFlush(message());
+        }
+        assertTrue(recorder.batches.isEmpty());
+
+        channel.runPendingTasks();
+        assertEquals(Arrays.asList(10), recorder.batches);
+        assertEquals(flushes + 1, Metrics.counter("socket.flushes").sum());
+        assertEquals(flushedMessages + 10, Metrics.counter("socket.flushed_messages").sum());
+    }
+
+    @Test
+    public void testFullBatchIsFlushedRightAway() {
+        Recorder recorder = new Recorder();
+        EmbeddedChannel channel = new EmbeddedChannel(recorder, new FlushBatchingHandler(4, 0));
+
+        for (int i = 0; i < 10; i++) {
+            channel.writeAndFlush(message());
+        }
+        assertEquals(Arrays.asList(4, 4), recorder.batches);
+
+        channel.runPendingTasks();
+        assertEquals(Arrays.asList(4, 4, 2), recorder.batches);
+    }
+
+    @Test
+    public void testFlushIsDelayedAtMostMaxDelay() throws InterruptedException {
+        Recorder recorder = new Recorder();
+        EmbeddedChannel channel = new EmbeddedChannel(recorder, new FlushBatchingHandler(64, 20_000));
+
+        channel.writeAndFlush(message());
+        channel.writeAndFlush(message());
+        channel.runPendingTasks();
+        assertTrue(recorder.batches.isEmpty());
+
+        Thread.sleep(50);
+        channel.runPendingTasks();
+        assertEquals(Arrays.asList(2), recorder.batches);
+    }
+
+    @Test
+    public void testUnwritableChannelIsFlushedRightAway() {
+        Recorder recorder = new Recorder();
+        EmbeddedChannel channel = new EmbeddedChannel(recorder, new FlushBatchingHandler(64, 20_000));
+
+        channel.writeAndFlush(message());
+        channel.writeAndFlush(message());
+        assertTrue(recorder.batches.isEmpty());
+
+        // the event is fired later, the delayed flush is not due yet
+        channel.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+        channel.runPendingTasks();
+        assertEquals(Arrays.asList(2), recorder.batches);
+
+        channel.writeAndFlush(message());
+        assertEquals(Arrays.asList(2, 1), recorder.batches);
+    }
+
+    @Test
+    public void testCloseFlushesPendingMessages() {
+        Recorder recorder = new Recorder();
+        EmbeddedChannel channel = new EmbeddedChannel(recorder, new FlushBatchingHandler(64, 20_000));
+
+        channel.writeAndFlush(message());
+        channel.close();
+
+        assertEquals(Arrays.asList(1), recorder.batches);
+    }
+
+    private static Object message() {
+        return Unpooled.wrappedBuffer(new byte[]{'{', '}'});
+    }
+
+    /**
+     * Takes the place of the socket: records how many messages each flush carries.
+     * It doesn't pass writes on, since the {@link EmbeddedChannel} runs its pending tasks (and so the deferred flush)
+     * on every write reaching it.
+     */
+    private static class Recorder extends ChannelOutboundHandlerAdapter {
+
+        private final List<Integer> batches = new ArrayList<>();
+        private int written;
+
+        @Override
+        public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) {
+            ReferenceCountUtil.release(msg);
+            written++;
+            promise.setSuccess();
+        }
+
+        @Override
+        public void flush(ChannelHandlerContext ctx) {
+            batches.add(written);
+            written = 0;
+        }
+    }
+}
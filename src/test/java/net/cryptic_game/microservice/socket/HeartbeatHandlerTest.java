@@ -0,0 +1,120 @@
+package net.cryptic_game.microservice.socket;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.handler.timeout.IdleStateHandler;
+import net.cryptic_game.microservice.StandInMsSocket;
+import net.cryptic_game.microservice.codec.FrameDecoder;
+import net.cryptic_game.microservice.codec.JsonDecoder;
+import net.cryptic_game.microservice.codec.JsonEncoder;
+import net.cryptic_game.microservice.utils.JSONBuilder;
+import org.json.simple.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class HeartbeatHandlerTest {
+
+    private EventLoopGroup group;
+
+    @Before
+    public void setUp() {
+        group = new NioEventLoopGroup(1);
+    }
+
+    @After
+    public void tearDown() {
+        group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    @Test
+    public void testHeartbeatIsNotUsedWithoutAcceptance() throws InterruptedException {
+        try (StandInMsSocket msSocket = new StandInMsSocket(Transport.NIO, false, false, false, false)) {
+            Channel channel = connect(msSocket, new HeartbeatHandler(1, 1));
+
+            assertEquals(true, msSocket.take().get(HeartbeatHandler.HEARTBEAT));
+
+            Thread.sleep(2500);
+            assertTrue(channel.isActive());
+
+            // no ping was sent in the meantime
+            channel.writeAndFlush(JSONBuilder.simple("action", "marker"));
+            assertEquals("marker", msSocket.take().get("action"));
+            channel.close();
+        }
+    }
+
+    @Test
+    public void testUnansweredRequestIsDetectedWithoutAcceptance() throws InterruptedException {
+        try (StandInMsSocket msSocket = new StandInMsSocket(Transport.NIO, false, false, false, false)) {
+            Channel channel = connect(msSocket, new HeartbeatHandler(1, 1));
+
+            assertEquals("register", msSocket.take().get("action"));
+            channel.writeAndFlush(JSONBuilder.anJSON().add("tag", "request").add("timeout", 30000).build());
+
+            assertTrue(channel.closeFuture().await(5, TimeUnit.SECONDS));
+            assertFalse(channel.isActive());
+        }
+    }
+
+    @Test
+    public void testPingsKeepTheConnectionAlive() throws InterruptedException {
+        try (StandInMsSocket msSocket = new StandInMsSocket(Transport.NIO, false, false, false, true)) {
+            Channel channel = connect(msSocket, new HeartbeatHandler(1, 2));
+
+            assertEquals("register", msSocket.take().get("action"));
+            JSONObject ping = msSocket.take();
+            assertEquals("ping", ping.get("action"));
+
+            assertNotNull(channel.pipeline().get(IdleStateHandler.class));
+            Thread.sleep(2500);
+            assertTrue(channel.isActive());
+            channel.close();
+        }
+    }
+
+    @Test
+    public void testSilentConnectionIsClosed() throws InterruptedException {
+        try (StandInMsSocket msSocket = new StandInMsSocket(Transport.NIO, false, false, false, true)) {
+            Channel channel = connect(msSocket, new HeartbeatHandler(0, 1));
+
+            assertEquals("register", msSocket.take().get("action"));
+            assertTrue(channel.closeFuture().await(5, TimeUnit.SECONDS));
+            assertFalse(channel.isActive());
+        }
+    }
+
+    private Channel connect(StandInMsSocket msSocket, HeartbeatHandler heartbeat) throws InterruptedException {
+        Channel channel = new Bootstrap()
+                .group(group)
+                .channel(NioSocketChannel.class)
+                .handler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel channel) {
+                        channel.pipeline().addLast("framer", new FrameDecoder(1048576));
+                        channel.pipeline().addLast("decoder", new JsonDecoder());
+                        channel.pipeline().addLast("encoder", new JsonEncoder());
+                        channel.pipeline().addLast("heartbeat", heartbeat);
+                    }
+                })
+                .connect("127.0.0.1", msSocket.getPort()).sync().channel();
+
+        JSONBuilder registration = JSONBuilder.anJSON().add("action", "register").add("name", "network");
+        heartbeat.offer(registration);
+        channel.writeAndFlush(registration.build());
+
+        return channel;
+    }
+}
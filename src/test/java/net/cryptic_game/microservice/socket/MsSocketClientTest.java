@@ -0,0 +1,196 @@
+package net.cryptic_game.microservice.socket;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import net.cryptic_game.microservice.StandInMsSocket;
+import net.cryptic_game.microservice.codec.JsonEncoder;
+import net.cryptic_game.microservice.communication.ResponseCorrelator;
+import net.cryptic_game.microservice.metrics.Metrics;
+import net.cryptic_game.microservice.utils.JSONBuilder;
+import org.json.simple.JSONObject;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MsSocketClientTest {
+
+    private static final JSONObject REGISTRATION = JSONBuilder.simple("action", "register");
+
+    private final ResponseCorrelator responses = new ResponseCorrelator(30000);
+    private EventLoopGroup group;
+    private MsSocketClient client;
+
+    @Before
+    public void setUp() {
+        group = new NioEventLoopGroup(1);
+    }
+
+    @After
+    public void tearDown() {
+        group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+    }
+
+    @Test
+    public void testBufferedMessagesAreReplayed() throws InterruptedException {
+        try (StandInMsSocket msSocket = new StandInMsSocket(false, false)) {
+            MsSocketClient client = client(msSocket);
+
+            client.send(JSONBuilder.simple("message", 1));
+            client.send(JSONBuilder.simple("message", 2));
+            client.start();
+
+            assertEquals("register", msSocket.take().get("action"));
+            assertEquals(1L, msSocket.take().get("message"));
+            assertEquals(2L, msSocket.take().get("message"));
+        }
+    }
+
+    @Test
+    public void testReconnectAfterConnectionLoss() throws InterruptedException {
+        try (StandInMsSocket msSocket = new StandInMsSocket(false, false)) {
+            MsSocketClient client = client(msSocket);
+            client.start();
+            assertEquals("register", msSocket.take().get("action"));
+
+            UUID tag = UUID.randomUUID();
+            CompletableFuture<JSONObject> response = responses.register(tag);
+            client.send(JSONBuilder.simple("tag", tag.toString()), tag);
+            assertEquals(tag.toString(), msSocket.take().get("tag"));
+
+            msSocket.disconnect();
+
+            try {
+                response.get(5, TimeUnit.SECONDS);
+                fail("The request survived the lost connection.");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IOException);
+            } catch (java.util.concurrent.TimeoutException e) {
+                fail("The request was not failed when the connection was lost.");
+            }
+
+            assertEquals("register", msSocket.take().get("action"));
+            client.send(JSONBuilder.simple("message", 1));
+            assertEquals(1L, msSocket.take().get("message"));
+        }
+    }
+
+    @Test
+    public void testRequestsFailWhileTheMsSocketIsUnreachable() throws Exception {
+        int port;
+        try (StandInMsSocket msSocket = new StandInMsSocket(false, false)) {
+            port = msSocket.getPort();
+        }
+        MsSocketClient client = client(port);
+
+        UUID buffered = UUID.randomUUID();
+        CompletableFuture<JSONObject> bufferedResponse = responses.register(buffered);
+        client.send(JSONBuilder.simple("tag", buffered.toString()), buffered);
+        client.start();
+
+        assertFailed(bufferedResponse);
+
+        UUID rejected = UUID.randomUUID();
+        CompletableFuture<JSONObject> rejectedResponse = responses.register(rejected);
+        client.send(JSONBuilder.simple("tag", rejected.toString()), rejected);
+        assertTrue(rejectedResponse.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testPushesAreSentToAnUnwritableConnection() throws InterruptedException {
+        try (StandInMsSocket msSocket = new StandInMsSocket(false, false)) {
+            Channel channel = connect(client(msSocket.getPort(), PushPolicy.SEND), msSocket);
+            channel.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+
+            client.push(JSONBuilder.simple("push", 1));
+            assertEquals(1L, msSocket.take().get("push"));
+        }
+    }
+
+    @Test
+    public void testPushesAreDelayedUntilTheConnectionIsWritable() throws InterruptedException {
+        try (StandInMsSocket msSocket = new StandInMsSocket(false, false)) {
+            Channel channel = connect(client(msSocket.getPort(), PushPolicy.DELAY), msSocket);
+            channel.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+
+            client.push(JSONBuilder.simple("push", 1));
+            client.send(JSONBuilder.simple("message", 1));
+            assertEquals(1L, msSocket.take().get("message"));
+
+            channel.unsafe().outboundBuffer().setUserDefinedWritability(1, true);
+            assertEquals(1L, msSocket.take().get("push"));
+        }
+    }
+
+    @Test
+    public void testPushesAreShedWhileTheConnectionIsUnwritable() throws InterruptedException {
+        try (StandInMsSocket msSocket = new StandInMsSocket(false, false)) {
+            Channel channel = connect(client(msSocket.getPort(), PushPolicy.SHED), msSocket);
+            long shed = Metrics.counter("socket.pushes_shed").sum();
+            channel.unsafe().outboundBuffer().setUserDefinedWritability(1, false);
+
+            client.push(JSONBuilder.simple("push", 1));
+            assertEquals(shed + 1, Metrics.counter("socket.pushes_shed").sum());
+
+            channel.unsafe().outboundBuffer().setUserDefinedWritability(1, true);
+            client.send(JSONBuilder.simple("message", 1));
+            assertEquals(1L, msSocket.take().get("message"));
+        }
+    }
+
+    /**
+     * Starts the client and waits until its connection is registered.
+     */
+    private Channel connect(MsSocketClient client, StandInMsSocket msSocket) throws InterruptedException {
+        this.client = client;
+        client.start();
+        assertEquals("register", msSocket.take().get("action"));
+
+        Channel channel;
+        while ((channel = client.getPool().nextWritable()) == null) {
+            Thread.sleep(10);
+        }
+        return channel;
+    }
+
+    private static void assertFailed(CompletableFuture<JSONObject> response) throws InterruptedException {
+        try {
+            response.get(5, TimeUnit.SECONDS);
+            fail("The request was answered.");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        } catch (java.util.concurrent.TimeoutException e) {
+            fail("The request was not failed.");
+        }
+    }
+
+    private MsSocketClient client(StandInMsSocket msSocket) {
+        return client(msSocket.getPort());
+    }
+
+    private MsSocketClient client(int port) {
+        return client(port, PushPolicy.SEND);
+    }
+
+    private MsSocketClient client(int port, PushPolicy pushPolicy) {
+        Bootstrap bootstrap = new Bootstrap()
+                .group(group)
+                .channel(NioSocketChannel.class)
+                .handler(new JsonEncoder());
+
+        return new MsSocketClient(bootstrap, "127.0.0.1", port, 1, REGISTRATION, responses,
+                10, 100, 2, 16, false, pushPolicy);
+    }
+}
@@ -0,0 +1,38 @@
+package net.cryptic_game.microservice.socket;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ReadGateTest {
+
+    @Test
+    public void testReadsResumeWhenAllHoldersResumed() {
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        final Object dispatcher = new Object();
+        final Object writability = new Object();
+
+        ReadGate.pause(channel, dispatcher);
+        ReadGate.pause(channel, writability);
+        assertFalse(channel.config().isAutoRead());
+
+        ReadGate.resume(channel, dispatcher);
+        assertFalse(channel.config().isAutoRead());
+
+        ReadGate.resume(channel, writability);
+        assertTrue(channel.config().isAutoRead());
+    }
+
+    @Test
+    public void testRepeatedPauseOfOneHolder() {
+        final EmbeddedChannel channel = new EmbeddedChannel();
+        final Object holder = new Object();
+
+        ReadGate.pause(channel, holder);
+        ReadGate.pause(channel, holder);
+        ReadGate.resume(channel, holder);
+        assertTrue(channel.config().isAutoRead());
+    }
+}
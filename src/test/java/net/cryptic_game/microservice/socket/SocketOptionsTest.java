@@ -0,0 +1,43 @@
+package net.cryptic_game.microservice.socket;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.WriteBufferWaterMark;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+public class SocketOptionsTest {
+
+    @Test
+    public void testOptionsAreApplied() {
+        SocketOptions options = new SocketOptions(true, false, 1024, 2048, 100, 200, Allocator.UNPOOLED);
+        Map<ChannelOption<?>, Object> applied = options.apply(new Bootstrap()).config().options();
+
+        assertEquals(true, applied.get(ChannelOption.TCP_NODELAY));
+        assertEquals(false, applied.get(ChannelOption.SO_KEEPALIVE));
+        assertEquals(1024, applied.get(ChannelOption.SO_RCVBUF));
+        assertEquals(2048, applied.get(ChannelOption.SO_SNDBUF));
+        assertSame(UnpooledByteBufAllocator.DEFAULT, applied.get(ChannelOption.ALLOCATOR));
+
+        WriteBufferWaterMark waterMark = (WriteBufferWaterMark) applied.get(ChannelOption.WRITE_BUFFER_WATER_MARK);
+        assertEquals(100, waterMark.low());
+        assertEquals(200, waterMark.high());
+    }
+
+    @Test
+    public void testSystemDefaultBufferSizesAreNotSet() {
+        SocketOptions options = new SocketOptions(false, true, 0, 0, 100, 200, Allocator.POOLED);
+        Map<ChannelOption<?>, Object> applied = options.apply(new Bootstrap()).config().options();
+
+        assertFalse(applied.containsKey(ChannelOption.SO_RCVBUF));
+        assertFalse(applied.containsKey(ChannelOption.SO_SNDBUF));
+        assertEquals(false, applied.get(ChannelOption.TCP_NODELAY));
+        assertEquals(true, applied.get(ChannelOption.SO_KEEPALIVE));
+    }
+}
@@ -0,0 +1,47 @@
+package net.cryptic_game.microservice.socket;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TransportTest {
+
+    @Test
+    public void testPreferredTransportIsUsedIfAvailable() {
+        assertEquals(Transport.IO_URING, Transport.select(Transport.IO_URING, transport -> true));
+        assertEquals(Transport.EPOLL, Transport.select(Transport.EPOLL, transport -> true));
+        assertEquals(Transport.NIO, Transport.select(Transport.NIO, transport -> true));
+    }
+
+    @Test
+    public void testFallbackToTheNextAvailableTransport() {
+        assertEquals(Transport.EPOLL, Transport.select(Transport.IO_URING, transport -> transport != Transport.IO_URING));
+        assertEquals(Transport.NIO, Transport.select(Transport.IO_URING, transport -> transport == Transport.NIO));
+        assertEquals(Transport.NIO, Transport.select(Transport.EPOLL, transport -> transport == Transport.NIO));
+    }
+
+    @Test
+    public void testNioIsTheLastResort() {
+        assertEquals(Transport.NIO, Transport.select(Transport.IO_URING, transport -> false));
+        assertEquals(Transport.NIO, Transport.select(Transport.NIO));
+    }
+
+    @Test
+    public void testNio() {
+        assertTrue(Transport.NIO.isAvailable());
+        assertEquals(NioSocketChannel.class, Transport.NIO.getSocketChannel());
+
+        EventLoopGroup group = Transport.NIO.newEventLoopGroup(1);
+        try {
+            assertTrue(group instanceof NioEventLoopGroup);
+        } finally {
+            group.shutdownGracefully(0, 1, TimeUnit.SECONDS).syncUninterruptibly();
+        }
+    }
+}
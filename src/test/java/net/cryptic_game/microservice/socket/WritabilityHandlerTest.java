@@ -0,0 +1,80 @@
+package net.cryptic_game.microservice.socket;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import net.cryptic_game.microservice.metrics.Metrics;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class WritabilityHandlerTest {
+
+    private final AtomicInteger writable = new AtomicInteger();
+
+    @Test
+    public void testReadsArePausedAboveTheHighWaterMark() {
+        EmbeddedChannel channel = channel(true);
+        long unwritable = Metrics.counter("socket.unwritable").sum();
+
+        channel.write(Unpooled.wrappedBuffer(new byte[1536]));
+        assertTrue(channel.isWritable());
+        assertTrue(channel.config().isAutoRead());
+
+        channel.write(Unpooled.wrappedBuffer(new byte[1536]));
+        assertFalse(channel.isWritable());
+        assertFalse(channel.config().isAutoRead());
+        assertEquals(unwritable + 1, Metrics.counter("socket.unwritable").sum());
+        assertEquals(0, writable.get());
+
+        channel.flush();
+        assertTrue(channel.isWritable());
+        assertTrue(channel.config().isAutoRead());
+        assertEquals(1, writable.get());
+
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testReadsGoOnWithoutBackpressure() {
+        EmbeddedChannel channel = channel(false);
+
+        channel.write(Unpooled.wrappedBuffer(new byte[3072]));
+        assertFalse(channel.isWritable());
+        assertTrue(channel.config().isAutoRead());
+
+        channel.flush();
+        assertTrue(channel.isWritable());
+        assertEquals(1, writable.get());
+
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    public void testOtherPausesAreKept() {
+        EmbeddedChannel channel = channel(true);
+        Object dispatcher = new Object();
+
+        ReadGate.pause(channel, dispatcher);
+        channel.write(Unpooled.wrappedBuffer(new byte[3072]));
+        channel.flush();
+
+        assertTrue(channel.isWritable());
+        assertFalse(channel.config().isAutoRead());
+
+        ReadGate.resume(channel, dispatcher);
+        assertTrue(channel.config().isAutoRead());
+
+        channel.finishAndReleaseAll();
+    }
+
+    private EmbeddedChannel channel(boolean backpressure) {
+        EmbeddedChannel channel = new EmbeddedChannel(new WritabilityHandler(backpressure, writable::incrementAndGet));
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(1024, 2048));
+        return channel;
+    }
+}